@@ -0,0 +1,201 @@
+package src.algo.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import src.algo.BlockingArrayQueue;
+import src.algo.BlockingLinkedQueue;
+import src.algo.LockFreeLinkedQueue;
+import src.algo.MpmcArrayQueue;
+import src.algo.OverflowPolicy;
+import src.algo.RingBuffer;
+import src.algo.SpscArrayQueue;
+
+import java.util.concurrent.TimeUnit;
+
+// Producers and consumers run against one queue at the same time; use -tg to change how many of each.
+// SpscArrayQueue is only correct with one thread on each side, the default.
+// Failed offers and polls return at once, and the counters tell successful transfers apart from them.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ConcurrentQueueBenchmark {
+    private static final Integer ITEM = 1;
+
+    @Param({"MpmcArrayQueue", "SpscArrayQueue", "BlockingArrayQueue", "BlockingLinkedQueue",
+        "LockFreeLinkedQueue", "RingBuffer"})
+    private String implementation;
+
+    @Param({"1024"})
+    private int capacity;
+
+    private Channel channel;
+
+    static Channel create(String implementation, int capacity) {
+        switch (implementation) {
+            case "MpmcArrayQueue": {
+                MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(capacity);
+                return new Channel() {
+                    @Override
+                    public boolean offer(Integer item) {
+                        return queue.offer(item);
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                };
+            }
+            case "SpscArrayQueue": {
+                SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(capacity);
+                return new Channel() {
+                    @Override
+                    public boolean offer(Integer item) {
+                        return queue.offer(item);
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                };
+            }
+            case "BlockingArrayQueue": {
+                BlockingArrayQueue<Integer> queue = new BlockingArrayQueue<>(capacity);
+                return new Channel() {
+                    @Override
+                    public boolean offer(Integer item) {
+                        return queue.offer(item);
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                };
+            }
+            case "BlockingLinkedQueue": {
+                BlockingLinkedQueue<Integer> queue = new BlockingLinkedQueue<>(capacity);
+                return new Channel() {
+                    @Override
+                    public boolean offer(Integer item) {
+                        return queue.offer(item);
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                };
+            }
+            case "LockFreeLinkedQueue": {
+                // unbounded, so capacity does not apply and every offer succeeds
+                LockFreeLinkedQueue<Integer> queue = new LockFreeLinkedQueue<>();
+                return new Channel() {
+                    @Override
+                    public boolean offer(Integer item) {
+                        queue.enqueue(item);
+                        return true;
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                };
+            }
+            case "RingBuffer": {
+                // REJECT_NEWEST, so a full buffer fails the offer like the other bounded queues
+                RingBuffer<Integer> queue = new RingBuffer<>(capacity, OverflowPolicy.REJECT_NEWEST);
+                return new Channel() {
+                    @Override
+                    public boolean offer(Integer item) {
+                        return queue.offer(item);
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.channel = create(this.implementation, this.capacity);
+    }
+
+    @Benchmark
+    @Group("transfer")
+    @GroupThreads(1)
+    public void offer(OfferCounters counters) {
+        if (this.channel.offer(ITEM)) {
+            counters.offers++;
+        } else {
+            counters.offerFailures++;
+        }
+    }
+
+    @Benchmark
+    @Group("transfer")
+    @GroupThreads(1)
+    public void poll(PollCounters counters) {
+        if (this.channel.poll() != null) {
+            counters.polls++;
+        } else {
+            counters.pollFailures++;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class OfferCounters {
+        public long offers;
+        public long offerFailures;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.offers = 0;
+            this.offerFailures = 0;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class PollCounters {
+        public long polls;
+        public long pollFailures;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.polls = 0;
+            this.pollFailures = 0;
+        }
+    }
+
+    interface Channel {
+        boolean offer(Integer item);
+
+        Integer poll();
+    }
+}
@@ -0,0 +1,251 @@
+package src.algo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import src.algo.ArrayDeque;
+import src.algo.ArrayQueue;
+import src.algo.ArrayStack;
+import src.algo.CapacityPolicy;
+import src.algo.Deque;
+import src.algo.LinkedDeque;
+import src.algo.LinkedQueue;
+import src.algo.LinkedStack;
+import src.algo.PriorityQueue;
+import src.algo.Queue;
+import src.algo.Stack;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+    private static final int BURST = 1024;
+    private static final int BATCH = 256;
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public Integer pingPong(PingPongState state) {
+        state.buffer.put(state.next++);
+        return state.buffer.take();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * BURST)
+    public void burst(BurstState state, Blackhole blackhole) {
+        Buffer buffer = state.buffer;
+        for (int i = 0; i < BURST; i++) {
+            buffer.put(i);
+        }
+        for (int i = 0; i < BURST; i++) {
+            blackhole.consume(buffer.take());
+        }
+    }
+
+    // the burst above, moved in batches of BATCH through enqueueAll and dequeueInto
+    @Benchmark
+    @OperationsPerInvocation(2 * BURST)
+    public void batchBurst(BatchState state, Blackhole blackhole) {
+        Queue<Integer> queue = state.queue;
+        Integer[] batch = state.batch;
+        for (int i = 0; i < BURST; i += BATCH) {
+            queue.enqueueAll(state.items, i, BATCH);
+        }
+        for (int i = 0; i < BURST; i += BATCH) {
+            queue.dequeueInto(batch);
+            blackhole.consume(batch);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public Integer oscillation(OscillationState state) {
+        // the size bounces between the shrink threshold and one element above it; the first take
+        // shrinks the array, and the hysteresis of CapacityPolicy must keep the rest from resizing
+        Integer item = state.buffer.take();
+        state.buffer.put(item);
+        return item;
+    }
+
+    static Buffer create(String implementation) {
+        switch (implementation) {
+            case "ArrayQueue":
+                return new QueueBuffer(new ArrayQueue<>(1));
+            case "LinkedQueue":
+                return new QueueBuffer(new LinkedQueue<>());
+            case "ArrayDeque":
+                return new DequeBuffer(new ArrayDeque<>(1));
+            case "LinkedDeque":
+                return new DequeBuffer(new LinkedDeque<>());
+            case "ArrayStack":
+                return new StackBuffer(new ArrayStack<>());
+            case "LinkedStack":
+                return new StackBuffer(new LinkedStack<>());
+            case "PriorityQueue":
+                return new QueueBuffer(new PriorityQueue<>(Comparator.naturalOrder()));
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PingPongState {
+        @Param({
+            "ArrayQueue", "LinkedQueue", "ArrayDeque", "LinkedDeque", "ArrayStack", "LinkedStack", "PriorityQueue"
+        })
+        String implementation;
+
+        @Param({"16", "1024", "65536"})
+        int size;
+
+        Buffer buffer;
+        int next;
+
+        @Setup
+        public void setUp() {
+            this.buffer = create(this.implementation);
+            for (this.next = 0; this.next < this.size; this.next++) {
+                this.buffer.put(this.next);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BurstState {
+        @Param({
+            "ArrayQueue", "LinkedQueue", "ArrayDeque", "LinkedDeque", "ArrayStack", "LinkedStack", "PriorityQueue"
+        })
+        String implementation;
+
+        Buffer buffer;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            // a fresh structure per iteration so every burst starts from the same capacity
+            this.buffer = create(this.implementation);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BatchState {
+        @Param({"ArrayQueue", "LinkedQueue"})
+        String implementation;
+
+        Queue<Integer> queue;
+        Integer[] items;
+        Integer[] batch;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            this.queue = this.implementation.equals("ArrayQueue") ? new ArrayQueue<>(1) : new LinkedQueue<>();
+            this.items = new Integer[BURST];
+            for (int i = 0; i < BURST; i++) {
+                this.items[i] = i;
+            }
+            this.batch = new Integer[BATCH];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OscillationState {
+        @Param({
+            "ArrayQueue", "LinkedQueue", "ArrayDeque", "LinkedDeque", "ArrayStack", "LinkedStack", "PriorityQueue"
+        })
+        String implementation;
+
+        @Param({"1024", "65536"})
+        int capacity;
+
+        Buffer buffer;
+
+        @Setup
+        public void setUp() {
+            this.buffer = create(this.implementation);
+            // grow to `capacity`, then drain to one element above its shrink threshold, so nothing has
+            // shrunk yet and the first take lands exactly on capacity * shrinkLoadFactor
+            int threshold = (int) (this.capacity * CapacityPolicy.DEFAULT.getShrinkLoadFactor());
+            for (int i = 0; i < this.capacity; i++) {
+                this.buffer.put(i);
+            }
+            for (int i = threshold + 1; i < this.capacity; i++) {
+                this.buffer.take();
+            }
+        }
+    }
+
+    interface Buffer {
+        void put(Integer item);
+
+        Integer take();
+    }
+
+    static final class QueueBuffer implements Buffer {
+        private final Queue<Integer> queue;
+
+        QueueBuffer(Queue<Integer> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void put(Integer item) {
+            this.queue.enqueue(item);
+        }
+
+        @Override
+        public Integer take() {
+            return this.queue.dequeue();
+        }
+    }
+
+    static final class DequeBuffer implements Buffer {
+        private final Deque<Integer> deque;
+
+        DequeBuffer(Deque<Integer> deque) {
+            this.deque = deque;
+        }
+
+        // runs FIFO through the opposite ends to the Queue view
+        @Override
+        public void put(Integer item) {
+            this.deque.enqueueFirst(item);
+        }
+
+        @Override
+        public Integer take() {
+            return this.deque.dequeueLast();
+        }
+    }
+
+    static final class StackBuffer implements Buffer {
+        private final Stack<Integer> stack;
+
+        StackBuffer(Stack<Integer> stack) {
+            this.stack = stack;
+        }
+
+        @Override
+        public void put(Integer item) {
+            this.stack.push(item);
+        }
+
+        @Override
+        public Integer take() {
+            return this.stack.pop();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package src.algo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import src.algo.WorkStealingScheduler;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+// The same recursive sum on WorkStealingScheduler and on a ForkJoinPool of the same parallelism. A
+// small threshold makes the run mostly fork and join overhead.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulerBenchmark {
+    @Param({"1048576"})
+    private int length;
+
+    @Param({"64", "4096"})
+    private int threshold;
+
+    private long[] values;
+    private WorkStealingScheduler scheduler;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        this.values = new long[this.length];
+        for (int i = 0; i < this.length; i++) {
+            this.values[i] = i;
+        }
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        this.scheduler = new WorkStealingScheduler(parallelism);
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.scheduler.close();
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public long workStealingScheduler() {
+        return this.scheduler.invoke(new SchedulerSum(this.values, 0, this.length, this.threshold));
+    }
+
+    @Benchmark
+    public long forkJoinPool() {
+        return this.pool.invoke(new PoolSum(this.values, 0, this.length, this.threshold));
+    }
+
+    static long sum(long[] values, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    static final class SchedulerSum extends WorkStealingScheduler.Task<Long> {
+        private final long[] values;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        SchedulerSum(long[] values, int from, int to, int threshold) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            if (this.to - this.from <= this.threshold) {
+                return sum(this.values, this.from, this.to);
+            }
+            int middle = (this.from + this.to) >>> 1;
+            SchedulerSum left = new SchedulerSum(this.values, this.from, middle, this.threshold);
+            left.fork();
+            long right = new SchedulerSum(this.values, middle, this.to, this.threshold).compute();
+            return right + left.join();
+        }
+    }
+
+    static final class PoolSum extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] values;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        PoolSum(long[] values, int from, int to, int threshold) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            if (this.to - this.from <= this.threshold) {
+                return sum(this.values, this.from, this.to);
+            }
+            int middle = (this.from + this.to) >>> 1;
+            PoolSum left = new PoolSum(this.values, this.from, middle, this.threshold);
+            left.fork();
+            long right = new PoolSum(this.values, middle, this.to, this.threshold).compute();
+            return right + left.join();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package src.algo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import src.algo.AvlTreeSet;
+import src.algo.BinarySearchTreeSet;
+import src.algo.HashSet;
+import src.algo.RedBlackTreeSet;
+import src.algo.Set;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SetBenchmark {
+    private static final int OPERATION_COUNT = 1 << 16;
+    private static final int ADD = 0;
+    private static final int CONTAINS = 1;
+    private static final int REMOVE = 2;
+
+    @Param({"HashSet", "BinarySearchTreeSet", "AvlTreeSet", "RedBlackTreeSet"})
+    private String implementation;
+
+    @Param({"RANDOM", "ASCENDING", "DESCENDING", "ZIPF", "COLLIDING"})
+    private Distribution distribution;
+
+    // add:contains:remove percentages; adds and removes are balanced so the size stays steady
+    @Param({"0:100:0", "10:80:10", "50:0:50"})
+    private String mix;
+
+    @Param({"1024", "32768"})
+    private int size;
+
+    private Set<Key> set;
+    private int[] operations;
+    private Key[] keys;
+    private int cursor;
+
+    static Set<Key> create(String implementation) {
+        switch (implementation) {
+            case "HashSet":
+                return new HashSet<>(16);
+            case "BinarySearchTreeSet":
+                return new BinarySearchTreeSet<>(Comparator.naturalOrder());
+            case "AvlTreeSet":
+                return new AvlTreeSet<>(Comparator.naturalOrder());
+            case "RedBlackTreeSet":
+                return new RedBlackTreeSet<>(Comparator.naturalOrder());
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0L);
+        // half of the universe is resident, so lookups hit and miss equally often
+        int universe = this.size * 2;
+        this.set = create(this.implementation);
+        Key[] prefill = this.distribution.keys(this.size, this.size, random);
+        for (Key key : prefill) {
+            this.set.add(key);
+        }
+        this.keys = this.distribution.keys(OPERATION_COUNT, universe, random);
+        this.operations = createOperations(this.mix, random);
+        this.cursor = 0;
+    }
+
+    @Benchmark
+    public boolean operation() {
+        int i = this.cursor++ & (OPERATION_COUNT - 1);
+        Key key = this.keys[i];
+        switch (this.operations[i]) {
+            case ADD:
+                this.set.add(key);
+                return true;
+            case REMOVE:
+                return this.set.remove(key);
+            default:
+                return this.set.contains(key);
+        }
+    }
+
+    private static int[] createOperations(String mix, Random random) {
+        String[] parts = mix.split(":");
+        int addPercent = Integer.parseInt(parts[0]);
+        int containsPercent = Integer.parseInt(parts[1]);
+        int removePercent = Integer.parseInt(parts[2]);
+        if (addPercent + containsPercent + removePercent != 100) {
+            throw new IllegalArgumentException(mix);
+        }
+        int[] operations = new int[OPERATION_COUNT];
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            int dice = random.nextInt(100);
+            if (dice < addPercent) {
+                operations[i] = ADD;
+            } else if (dice < addPercent + containsPercent) {
+                operations[i] = CONTAINS;
+            } else {
+                operations[i] = REMOVE;
+            }
+        }
+        return operations;
+    }
+
+    public enum Distribution {
+        RANDOM {
+            @Override
+            Key[] keys(int count, int universe, Random random) {
+                Key[] keys = new Key[count];
+                for (int i = 0; i < count; i++) {
+                    keys[i] = new Key(random.nextInt(universe), false);
+                }
+                return keys;
+            }
+        },
+        ASCENDING {
+            @Override
+            Key[] keys(int count, int universe, Random random) {
+                Key[] keys = new Key[count];
+                for (int i = 0; i < count; i++) {
+                    keys[i] = new Key(i % universe, false);
+                }
+                return keys;
+            }
+        },
+        DESCENDING {
+            @Override
+            Key[] keys(int count, int universe, Random random) {
+                Key[] keys = new Key[count];
+                for (int i = 0; i < count; i++) {
+                    keys[i] = new Key(universe - 1 - i % universe, false);
+                }
+                return keys;
+            }
+        },
+        ZIPF {
+            private static final double EXPONENT = 1.0;
+
+            @Override
+            Key[] keys(int count, int universe, Random random) {
+                // inverse transform sampling over the cumulative rank weights
+                double[] cumulative = new double[universe];
+                double sum = 0.0;
+                for (int rank = 0; rank < universe; rank++) {
+                    sum += 1.0 / Math.pow(rank + 1, EXPONENT);
+                    cumulative[rank] = sum;
+                }
+                Key[] keys = new Key[count];
+                for (int i = 0; i < count; i++) {
+                    double target = random.nextDouble() * sum;
+                    int lower = 0;
+                    int upper = universe - 1;
+                    while (lower < upper) {
+                        int pivot = (lower + upper) >>> 1;
+                        if (cumulative[pivot] < target) {
+                            lower = pivot + 1;
+                        } else {
+                            upper = pivot;
+                        }
+                    }
+                    keys[i] = new Key(lower, false);
+                }
+                return keys;
+            }
+        },
+        COLLIDING {
+            @Override
+            Key[] keys(int count, int universe, Random random) {
+                Key[] keys = new Key[count];
+                for (int i = 0; i < count; i++) {
+                    keys[i] = new Key(random.nextInt(universe), true);
+                }
+                return keys;
+            }
+        };
+
+        abstract Key[] keys(int count, int universe, Random random);
+    }
+
+    public static final class Key implements Comparable<Key> {
+        // colliding keys share a handful of hash codes and end up in the same few chains
+        private static final int COLLIDING_HASH_MASK = 0x7;
+
+        final int value;
+        final int hash;
+
+        Key(int value, boolean colliding) {
+            this.value = value;
+            this.hash = colliding ? (value & COLLIDING_HASH_MASK) : Integer.hashCode(value);
+        }
+
+        @Override
+        public int compareTo(Key key) {
+            return Integer.compare(this.value, key.value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            return ((Key) obj).value == this.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public String toString() {
+            return Integer.toString(this.value);
+        }
+    }
+}
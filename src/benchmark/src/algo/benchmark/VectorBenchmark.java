@@ -0,0 +1,155 @@
+package src.algo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import src.algo.ArrayList;
+import src.algo.ArrayVector;
+import src.algo.DoublyLinkedList;
+import src.algo.OffHeapVector;
+import src.algo.RecordCodec;
+import src.algo.SinglyLinkedList;
+import src.algo.TieredVector;
+import src.algo.UnrolledLinkedList;
+import src.algo.Vector;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class VectorBenchmark {
+    private static final int INDEX_COUNT = 1 << 12;
+    private static final RecordCodec<Integer> INTEGER_CODEC = new RecordCodec<>() {
+        @Override
+        public int recordSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer e, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, e);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    @Param({
+        "ArrayVector", "ArrayList", "DoublyLinkedList", "SinglyLinkedList", "TieredVector", "UnrolledLinkedList",
+        "OffHeapVector"
+    })
+    private String implementation;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    private Vector<Integer> vector;
+    private int[] indices;
+    private int cursor;
+
+    static Vector<Integer> create(String implementation, int size) {
+        switch (implementation) {
+            case "ArrayVector":
+                return new ArrayVector<>(size);
+            case "ArrayList":
+                return new ArrayList<>(size);
+            case "DoublyLinkedList":
+                return new DoublyLinkedList<>();
+            case "SinglyLinkedList":
+                return new SinglyLinkedList<>();
+            case "TieredVector":
+                return new TieredVector<>();
+            case "UnrolledLinkedList":
+                return new UnrolledLinkedList<>();
+            case "OffHeapVector":
+                return new OffHeapVector<>(INTEGER_CODEC);
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    static void fill(Vector<Integer> vector, int size) {
+        for (int i = 0; i < size; i++) {
+            vector.addLast(i);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        this.vector = create(this.implementation, this.size);
+        fill(this.vector, this.size);
+        Random random = new Random(0L);
+        this.indices = new int[INDEX_COUNT];
+        for (int i = 0; i < INDEX_COUNT; i++) {
+            this.indices[i] = random.nextInt(this.size);
+        }
+        this.cursor = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (this.vector instanceof OffHeapVector) {
+            ((OffHeapVector<Integer>) this.vector).close();
+        }
+    }
+
+    // Every mutating benchmark undoes its own change so that the vector stays at `size`.
+    // The compensating step is always addLast/removeLast, which is measured on its own by
+    // addLast, so the difference against addLast isolates the operation under test.
+
+    @Benchmark
+    public Integer addLast() {
+        this.vector.addLast(this.size);
+        return this.vector.removeLast();
+    }
+
+    @Benchmark
+    public Integer addFirst() {
+        this.vector.addFirst(this.size);
+        return this.vector.removeLast();
+    }
+
+    @Benchmark
+    public Integer add() {
+        this.vector.add(this.size >> 1, this.size);
+        return this.vector.removeLast();
+    }
+
+    @Benchmark
+    public Integer remove() {
+        Integer removed = this.vector.remove(this.size >> 1);
+        this.vector.addLast(removed);
+        return removed;
+    }
+
+    @Benchmark
+    public Integer get() {
+        int index = this.indices[this.cursor++ & (INDEX_COUNT - 1)];
+        return this.vector.get(index);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer item : this.vector) {
+            blackhole.consume(item);
+        }
+    }
+}
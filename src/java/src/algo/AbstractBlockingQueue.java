@@ -0,0 +1,306 @@
+package src.algo;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Makes a single-threaded queue blocking by guarding it with one lock. Waiting is done on the lock's
+// conditions and never with synchronized, so a waiting virtual thread unmounts from its carrier
+// instead of pinning it. Every insertion wakes one waiting taker and every removal one waiting putter,
+// so a crowd of idle consumers is not woken all at once for a single element.
+abstract class AbstractBlockingQueue<E> implements BlockingQueue<E> {
+    protected final Queue<E> queue;
+    protected final int bound;
+    protected final ReentrantLock lock;
+    protected final Condition notEmpty;
+    protected final Condition notFull;
+
+    protected AbstractBlockingQueue(Queue<E> queue, int bound) {
+        if (queue == null || bound < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.queue = queue;
+        this.bound = bound;
+        this.lock = new ReentrantLock();
+        this.notEmpty = this.lock.newCondition();
+        this.notFull = this.lock.newCondition();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.queue.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return this.bound - size();
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.lock.lock();
+        try {
+            this.queue.setMetricsEnabled(enabled);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        this.lock.lock();
+        try {
+            return this.queue.metrics();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void enqueue(E e) {
+        if (!offer(e)) {
+            throw new RuntimeException("Queue is full.");
+        }
+    }
+
+    @Override
+    public E dequeue() {
+        E e = poll();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    @Override
+    public E peek() {
+        this.lock.lock();
+        try {
+            return this.queue.peek();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // returns false instead of waiting when the queue is full
+    public boolean offer(E e) {
+        checkElement(e);
+        this.lock.lock();
+        try {
+            if (this.queue.size() == this.bound) {
+                return false;
+            }
+            insert(e);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // returns null instead of waiting when the queue is empty
+    public E poll() {
+        this.lock.lock();
+        try {
+            return this.queue.isEmpty() ? null : extract();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // all of the elements or none: the batch has to fit below the bound as a whole
+    @Override
+    public void enqueueAll(E[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        for (int i = 0; i < length; i++) {
+            checkElement(es[offset + i]);
+        }
+        this.lock.lock();
+        try {
+            if (length > this.bound - this.queue.size()) {
+                throw new RuntimeException("Queue is full.");
+            }
+            this.queue.enqueueAll(es, offset, length);
+            signal(this.notEmpty, length);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // the action runs while the lock is held, so it should be short
+    @Override
+    public int drainTo(Consumer<? super E> action, int max) {
+        this.lock.lock();
+        int size = this.queue.size();
+        try {
+            return this.queue.drainTo(action, max);
+        } finally {
+            // an action that throws still frees the slots it was handed
+            signal(this.notFull, size - this.queue.size());
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int dequeueInto(E[] es) {
+        this.lock.lock();
+        try {
+            int count = this.queue.dequeueInto(es);
+            signal(this.notFull, count);
+            return count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        checkElement(e);
+        this.lock.lockInterruptibly();
+        try {
+            awaitRoom(Long.MAX_VALUE);
+            insert(e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            awaitElement(Long.MAX_VALUE);
+            return extract();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        checkElement(e);
+        long nanos = unit.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            if (!awaitRoom(nanos)) {
+                return false;
+            }
+            insert(e);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            return awaitElement(nanos) ? extract() : null;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        ArrayVector<E> snapshot = snapshot();
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(snapshot.get(i));
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    // iterates over a copy taken under the lock, so it never sees a half-done change
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return snapshot().spliterator();
+    }
+
+    // the callers hold the lock
+    protected void insert(E e) {
+        this.queue.enqueue(e);
+        this.notEmpty.signal();
+    }
+
+    protected E extract() {
+        E e = this.queue.dequeue();
+        this.notFull.signal();
+        return e;
+    }
+
+    // waits at most nanos for room and returns whether there is; Long.MAX_VALUE waits for good
+    protected boolean awaitRoom(long nanos) throws InterruptedException {
+        while (this.queue.size() == this.bound) {
+            if (nanos <= 0) {
+                return false;
+            }
+            nanos = this.notFull.awaitNanos(nanos);
+        }
+        return true;
+    }
+
+    protected boolean awaitElement(long nanos) throws InterruptedException {
+        while (this.queue.isEmpty()) {
+            if (nanos <= 0) {
+                return false;
+            }
+            nanos = this.notEmpty.awaitNanos(nanos);
+        }
+        return true;
+    }
+
+    // wakes one waiter per element, and stops early once nobody is left waiting
+    protected void signal(Condition condition, int count) {
+        for (int i = 0; i < count && this.lock.hasWaiters(condition); i++) {
+            condition.signal();
+        }
+    }
+
+    // null is what poll() returns when there is nothing to take
+    protected static void checkElement(Object e) {
+        if (e == null) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    private ArrayVector<E> snapshot() {
+        this.lock.lock();
+        try {
+            ArrayVector<E> vector = new ArrayVector<>(this.queue.size());
+            for (E e : this.queue) {
+                vector.addLast(e);
+            }
+            return vector;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
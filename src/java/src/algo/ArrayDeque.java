@@ -1,12 +1,17 @@
 package src.algo;
 
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 public class ArrayDeque<E> extends ArrayQueue<E> implements Deque<E> {
     public ArrayDeque(int capacity) {
         super(capacity);
     }
 
+    public ArrayDeque(int capacity, CapacityPolicy policy) {
+        super(capacity, policy);
+    }
+
     @Override
     public void enqueueFirst(E e) {
         if (this.size == this.capacity) {
@@ -26,9 +31,9 @@ public class ArrayDeque<E> extends ArrayQueue<E> implements Deque<E> {
         @SuppressWarnings("unchecked")
         E ret = (E) this.es[last];
         this.es[last] = null; // faster GC
-        this.tail = before(last);
+        this.tail = last;
         this.size--;
-        if ((this.size << 2) <= this.capacity) {
+        if (this.policy.shouldShrink(this.size, this.capacity)) {
             decrease();
         }
         return ret;
@@ -43,7 +48,57 @@ public class ArrayDeque<E> extends ArrayQueue<E> implements Deque<E> {
         return (E) this.es[before(this.tail)];
     }
 
+    // the block ends right before head: what fits below head goes there, the rest at the array's end
+    @Override
+    public void enqueueAllFirst(E[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        if (length > this.capacity - this.size) {
+            if (length > Integer.MAX_VALUE - this.size) {
+                throw new RuntimeException("Queue is full.");
+            }
+            replace(this.policy.grow(this.capacity, this.size + length));
+        }
+        int last = Math.min(length, this.head);
+        int wrapped = length - last;
+        System.arraycopy(es, offset + wrapped, this.es, this.head - last, last);
+        System.arraycopy(es, offset, this.es, this.capacity - wrapped, wrapped);
+        this.head = wrapped == 0 ? this.head - last : this.capacity - wrapped;
+        this.size += length;
+    }
+
+    @Override
+    public int drainLastTo(Consumer<? super E> action, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = Math.min(max, this.size);
+        int index = this.tail;
+        int drained = 0;
+        try {
+            while (drained < count) {
+                if (index == 0) {
+                    index = this.capacity;
+                }
+                index--;
+                @SuppressWarnings("unchecked")
+                E item = (E) this.es[index];
+                this.es[index] = null; // faster GC
+                drained++;
+                action.accept(item);
+            }
+        } finally {
+            this.tail = index;
+            this.size -= drained;
+            if (this.policy.shouldShrink(this.size, this.capacity)) {
+                decrease();
+            }
+        }
+        return count;
+    }
+
     protected int before(int index) {
-        return (index - 1 + this.capacity) % this.capacity;
+        return index == 0 ? this.capacity - 1 : index - 1;
     }
 }
@@ -4,4 +4,8 @@ public class ArrayList<E> extends ArrayVector<E> implements List<E> {
     public ArrayList(int capacity) {
         super(capacity);
     }
+
+    public ArrayList(int capacity, CapacityPolicy policy) {
+        super(capacity, policy);
+    }
 }
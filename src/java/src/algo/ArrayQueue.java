@@ -1,26 +1,36 @@
 package src.algo;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public class ArrayQueue<E> implements Queue<E> {
-    protected static final int DECREASE_BOUND = 16;
+    protected final CapacityPolicy policy;
 
     protected Object[] es;
     protected int capacity;
     protected int size;
     protected int head;
     protected int tail;
+    private Metrics metrics;
 
     public ArrayQueue(int capacity) {
-        if (capacity < 0) {
+        this(capacity, CapacityPolicy.DEFAULT);
+    }
+
+    public ArrayQueue(int capacity, CapacityPolicy policy) {
+        if (capacity < 0 || policy == null) {
             throw new IllegalArgumentException();
         }
+        this.policy = policy;
         this.capacity = Math.max(capacity, 1);
         this.size = 0;
         this.head = 0;
         this.tail = 0;
+        this.metrics = null;
         this.es = new Object[this.capacity];
     }
 
@@ -50,6 +60,16 @@ public class ArrayQueue<E> implements Queue<E> {
         return this.size;
     }
 
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metrics = Metrics.toggle(this.metrics, enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return Metrics.snapshot(this.metrics);
+    }
+
     @Override
     public void enqueue(E e) {
         // increase capacity
@@ -71,12 +91,78 @@ public class ArrayQueue<E> implements Queue<E> {
         this.es[this.head] = null; // faster GC
         this.size--;
         this.head = next(this.head);
-        if ((this.size << 2) <= this.capacity) {
+        if (this.policy.shouldShrink(this.size, this.capacity)) {
             decrease();
         }
         return ret;
     }
 
+    // one growth step and at most two block copies, up to the end of the array and from its start
+    @Override
+    public void enqueueAll(E[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        if (length > this.capacity - this.size) {
+            if (length > Integer.MAX_VALUE - this.size) {
+                throw new RuntimeException("Queue is full.");
+            }
+            replace(this.policy.grow(this.capacity, this.size + length));
+        }
+        int first = Math.min(length, this.capacity - this.tail);
+        System.arraycopy(es, offset, this.es, this.tail, first);
+        System.arraycopy(es, offset + first, this.es, 0, length - first);
+        this.size += length;
+        this.tail = next(this.tail, length);
+    }
+
+    // the shrink check runs once for the whole batch; an element whose action throws is dequeued
+    @Override
+    public int drainTo(Consumer<? super E> action, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = Math.min(max, this.size);
+        int index = this.head;
+        int drained = 0;
+        try {
+            while (drained < count) {
+                @SuppressWarnings("unchecked")
+                E item = (E) this.es[index];
+                this.es[index] = null; // faster GC
+                drained++;
+                if (++index == this.capacity) {
+                    index = 0;
+                }
+                action.accept(item);
+            }
+        } finally {
+            this.head = index;
+            this.size -= drained;
+            if (this.policy.shouldShrink(this.size, this.capacity)) {
+                decrease();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int dequeueInto(E[] es) {
+        int count = Math.min(es.length, this.size);
+        int first = Math.min(count, this.capacity - this.head);
+        System.arraycopy(this.es, this.head, es, 0, first);
+        System.arraycopy(this.es, 0, es, first, count - first);
+        // faster GC
+        Arrays.fill(this.es, this.head, this.head + first, null);
+        Arrays.fill(this.es, 0, count - first, null);
+        this.size -= count;
+        this.head = next(this.head, count);
+        if (this.policy.shouldShrink(this.size, this.capacity)) {
+            decrease();
+        }
+        return count;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public E peek() {
@@ -91,6 +177,11 @@ public class ArrayQueue<E> implements Queue<E> {
         return new ArrayQueueIterator<>(this, 0);
     }
 
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ArrayQueueSpliterator<>(this.es, this.head, 0, this.size);
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -110,31 +201,30 @@ public class ArrayQueue<E> implements Queue<E> {
         return next(index, 1);
     }
 
+    // offset is at most the capacity, so one subtraction replaces the modulo
     protected int next(int index, int offset) {
-        return (index + offset) % this.capacity;
+        return offset < this.capacity - index ? index + offset : index + offset - this.capacity;
     }
 
     protected void increase() {
-        int newCapacity = this.capacity * 2;
-        // overflow check
-        if (newCapacity < this.capacity) {
-            newCapacity = Integer.MAX_VALUE;
-        }
-        if (newCapacity == this.capacity) {
+        if (this.capacity == Integer.MAX_VALUE) {
             throw new RuntimeException("Queue is full.");
         }
-        replace(newCapacity);
+        replace(this.policy.grow(this.capacity, this.capacity + 1));
     }
 
     protected void decrease() {
-        int newCapacity = Math.max(this.capacity / 2, DECREASE_BOUND);
+        int newCapacity = this.policy.shrink(this.size, this.capacity);
         if (newCapacity >= this.capacity) {
             return;
         }
-        replace(this.capacity);
+        replace(newCapacity);
     }
 
     protected void replace(int newCapacity) {
+        if (this.metrics != null) {
+            this.metrics.countResize();
+        }
         Object[] newEs = new Object[newCapacity];
         for (int i = 0; i < this.size; i++) {
             int index = next(this.head, i);
@@ -169,8 +259,76 @@ public class ArrayQueue<E> implements Queue<E> {
             int index = this.queue.next(this.queue.head, this.index);
             @SuppressWarnings("unchecked")
             E item = (E) this.queue.es[index];
-            this.index = index + 1;
+            this.index++;
             return item;
         }
     }
+
+    // splits the logical range [index, fence) in halves and maps it onto the ring only when reading
+    protected static class ArrayQueueSpliterator<E> implements Spliterator<E> {
+        final Object[] es;
+        final int head;
+        int index;
+        final int fence;
+
+        ArrayQueueSpliterator(Object[] es, int head, int index, int fence) {
+            this.es = es;
+            this.head = head;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (this.index >= this.fence) {
+                return false;
+            }
+            int offset = this.head + this.index++;
+            @SuppressWarnings("unchecked")
+            E item = (E) this.es[offset < this.es.length ? offset : offset - this.es.length];
+            action.accept(item);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Object[] es = this.es;
+            int from = this.head + this.index;
+            int to = this.head + this.fence;
+            // at most two contiguous segments: up to the end of the array and from its start
+            int end = Math.min(to, es.length);
+            for (int i = from; i < end; i++) {
+                @SuppressWarnings("unchecked")
+                E item = (E) es[i];
+                action.accept(item);
+            }
+            for (int i = Math.max(from, es.length) - es.length; i < to - es.length; i++) {
+                @SuppressWarnings("unchecked")
+                E item = (E) es[i];
+                action.accept(item);
+            }
+            this.index = this.fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int low = this.index;
+            int middle = (low + this.fence) >>> 1;
+            if (low >= middle) {
+                return null;
+            }
+            this.index = middle;
+            return new ArrayQueueSpliterator<>(this.es, this.head, low, middle);
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.fence - this.index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
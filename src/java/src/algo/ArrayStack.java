@@ -2,6 +2,7 @@ package src.algo;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
 
 public class ArrayStack<E> implements Stack<E> {
     private static final int DEFAULT_CAPACITY = 8;
@@ -22,6 +23,16 @@ public class ArrayStack<E> implements Stack<E> {
         return this.vector.size();
     }
 
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.vector.setMetricsEnabled(enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return this.vector.metrics();
+    }
+
     @Override
     public void push(E e) {
         this.vector.addLast(e);
@@ -48,4 +59,9 @@ public class ArrayStack<E> implements Stack<E> {
     public Iterator<E> iterator() {
         return this.vector.iterator();
     }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return this.vector.spliterator();
+    }
 }
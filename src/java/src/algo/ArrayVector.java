@@ -1,21 +1,33 @@
 package src.algo;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public class ArrayVector<E> implements Vector<E> {
-    private static final int DECREASE_BOUND = 16;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final CapacityPolicy policy;
 
     private Object[] es;
     private int capacity;
     private int size;
+    private Metrics metrics;
 
     public ArrayVector(int capacity) {
-        if (capacity < 0) {
+        this(capacity, CapacityPolicy.DEFAULT);
+    }
+
+    public ArrayVector(int capacity, CapacityPolicy policy) {
+        if (capacity < 0 || policy == null) {
             throw new IllegalArgumentException();
         }
+        this.policy = policy;
         this.capacity = Math.max(capacity, 1);
         this.size = 0;
+        this.metrics = null;
         this.es = new Object[this.capacity];
     }
 
@@ -29,6 +41,16 @@ public class ArrayVector<E> implements Vector<E> {
         return this.size;
     }
 
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metrics = Metrics.toggle(this.metrics, enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return Metrics.snapshot(this.metrics);
+    }
+
     @Override
     public void addLast(E e) {
         add(this.size, e);
@@ -44,25 +66,55 @@ public class ArrayVector<E> implements Vector<E> {
         if (index < 0 || index > this.size) {
             throw new IndexOutOfBoundsException(index);
         }
-        // increase capacity
-        if (this.size == this.capacity) {
-            int newCapacity = this.capacity * 2;
-            // overflow check
-            if (newCapacity < this.capacity) {
-                newCapacity = Integer.MAX_VALUE;
-            }
-            if (newCapacity == this.capacity) {
-                throw new RuntimeException("Vector is full.");
-            }
-            replace(newCapacity);
-        }
-        for (int i = this.size; i > index; i--) {
-            this.es[i] = this.es[i - 1];
-        }
+        increase(this.size + 1);
+        System.arraycopy(this.es, index, this.es, index + 1, this.size - index);
         this.es[index] = e;
         this.size++;
     }
 
+    public void addAll(E[] es) {
+        addAll(this.size, es);
+    }
+
+    public void addAll(int index, E[] es) {
+        addAll(index, es, 0, es.length);
+    }
+
+    public void addAll(int index, E[] es, int offset, int length) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (offset < 0 || length < 0 || offset + length > es.length || offset + length < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return;
+        }
+        // one growth step, one shift and one block copy regardless of the batch size
+        increase(this.size + length);
+        System.arraycopy(this.es, index, this.es, index + length, this.size - index);
+        System.arraycopy(es, offset, this.es, index, length);
+        this.size += length;
+    }
+
+    public void addAll(Iterable<? extends E> es) {
+        addAll(this.size, es);
+    }
+
+    public void addAll(int index, Iterable<? extends E> es) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Object[] items = toArray(es);
+        if (items.length == 0) {
+            return;
+        }
+        increase(this.size + items.length);
+        System.arraycopy(this.es, index, this.es, index + items.length, this.size - index);
+        System.arraycopy(items, 0, this.es, index, items.length);
+        this.size += items.length;
+    }
+
     @Override
     public E removeLast() {
         return remove(this.size - 1);
@@ -80,22 +132,26 @@ public class ArrayVector<E> implements Vector<E> {
         }
         @SuppressWarnings("unchecked")
         E ret = (E) this.es[index];
-        int sizeM1 = this.size - 1;
-        for (int i = index; i < sizeM1; i++) {
-            this.es[i] = this.es[i + 1];
-        }
-        this.size--;
-        // decrease capacity;
-        if ((this.size << 2) <= this.capacity) {
-            int newCapacity = Math.max(this.capacity / 2, DECREASE_BOUND);
-            if (newCapacity >= this.capacity) {
-                return ret;
-            }
-            replace(newCapacity);
-        }
+        System.arraycopy(this.es, index + 1, this.es, index, this.size - index - 1);
+        this.es[--this.size] = null; // faster GC
+        decrease();
         return ret;
     }
 
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+        int newSize = this.size - (toIndex - fromIndex);
+        System.arraycopy(this.es, toIndex, this.es, fromIndex, this.size - toIndex);
+        Arrays.fill(this.es, newSize, this.size, null); // faster GC
+        this.size = newSize;
+        decrease();
+    }
+
     @Override
     public E get(int index) {
         @SuppressWarnings("unchecked")
@@ -108,17 +164,93 @@ public class ArrayVector<E> implements Vector<E> {
         this.es[index] = e;
     }
 
+    public void setAll(int index, E[] es) {
+        setAll(index, es, 0, es.length);
+    }
+
+    public void setAll(int index, E[] es, int offset, int length) {
+        if (index < 0 || length < 0 || index + length > this.size || index + length < 0) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (offset < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        System.arraycopy(es, offset, this.es, index, length);
+    }
+
+    public Object[] toArray() {
+        return Arrays.copyOf(this.es, this.size);
+    }
+
+    // the backing array for in-place algorithms of this package; only [0, size) is in use
+    Object[] elements() {
+        return this.es;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] array) {
+        if (array.length < this.size) {
+            return (T[]) Arrays.copyOf(this.es, this.size, array.getClass());
+        }
+        System.arraycopy(this.es, 0, array, 0, this.size);
+        if (array.length > this.size) {
+            array[this.size] = null;
+        }
+        return array;
+    }
+
     @Override
     public Iterator<E> iterator() {
         return new VectorIterator<>(this, 0);
     }
 
+    @Override
+    public Spliterator<E> spliterator() {
+        return new VectorSpliterator<>(this.es, 0, this.size);
+    }
+
+    // the size of another structure only sizes the buffer, because a concurrent one may change while
+    // it is iterated or report an estimate
+    private static Object[] toArray(Iterable<?> es) {
+        if (es instanceof ArrayVector) {
+            return ((ArrayVector<?>) es).toArray();
+        }
+        int capacity = es instanceof DataStructure ? ((DataStructure) es).size() : DEFAULT_CAPACITY;
+        ArrayVector<Object> buffer = new ArrayVector<>(capacity);
+        for (Object e : es) {
+            buffer.addLast(e);
+        }
+        // no second copy when the size was exact
+        return buffer.capacity == buffer.size ? buffer.es : buffer.toArray();
+    }
+
+    private void increase(int minCapacity) {
+        if (minCapacity <= this.capacity) {
+            return;
+        }
+        if (minCapacity < 0) {
+            throw new RuntimeException("Vector is full.");
+        }
+        replace(this.policy.grow(this.capacity, minCapacity));
+    }
+
+    private void decrease() {
+        if (!this.policy.shouldShrink(this.size, this.capacity)) {
+            return;
+        }
+        // shrinks as far as needed at once so that a bulk removal reallocates only once
+        int newCapacity = this.policy.shrink(this.size, this.capacity);
+        if (newCapacity < this.capacity) {
+            replace(newCapacity);
+        }
+    }
+
     private void replace(int newCapacity) {
-        Object[] newEs = new Object[newCapacity];
-        for (int i = 0; i < this.size; i++) {
-            newEs[i] = this.es[i];
-            this.es[i] = null; // faster GC
+        if (this.metrics != null) {
+            this.metrics.countResize();
         }
+        Object[] newEs = new Object[newCapacity];
+        System.arraycopy(this.es, 0, newEs, 0, this.size);
         this.capacity = newCapacity;
         this.es = newEs;
     }
@@ -147,4 +279,61 @@ public class ArrayVector<E> implements Vector<E> {
             return item;
         }
     }
+
+    // splits the index range in halves, so every part knows its exact size
+    private static class VectorSpliterator<E> implements Spliterator<E> {
+        final Object[] es;
+        int index;
+        final int fence;
+
+        VectorSpliterator(Object[] es, int index, int fence) {
+            this.es = es;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (this.index >= this.fence) {
+                return false;
+            }
+            @SuppressWarnings("unchecked")
+            E item = (E) this.es[this.index++];
+            action.accept(item);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Object[] es = this.es;
+            int fence = this.fence;
+            for (int i = this.index; i < fence; i++) {
+                @SuppressWarnings("unchecked")
+                E item = (E) es[i];
+                action.accept(item);
+            }
+            this.index = fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int low = this.index;
+            int middle = (low + this.fence) >>> 1;
+            if (low >= middle) {
+                return null;
+            }
+            this.index = middle;
+            return new VectorSpliterator<>(this.es, low, middle);
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.fence - this.index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
@@ -10,11 +10,13 @@ public class AvlTreeSet<E> implements Set<E> {
 
     private Node<E> root;
     private int size;
+    private Metrics metrics;
 
     public AvlTreeSet(Comparator<? super E> comparator) {
         this.comparator = comparator;
         this.root = null;
         this.size = 0;
+        this.metrics = null;
     }
 
     public static void main(String[] args) {
@@ -49,6 +51,16 @@ public class AvlTreeSet<E> implements Set<E> {
         return this.size;
     }
 
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metrics = Metrics.toggle(this.metrics, enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return Metrics.snapshot(this.metrics);
+    }
+
     @Override
     public void add(E e) {
         Node<E> node = add(this.root, e);
@@ -110,6 +122,9 @@ public class AvlTreeSet<E> implements Set<E> {
     }
 
     private int compare(E e1, E e2) {
+        if (this.metrics != null) {
+            this.metrics.countComparison();
+        }
         return this.comparator.compare(e1, e2);
     }
 
@@ -180,6 +195,9 @@ public class AvlTreeSet<E> implements Set<E> {
 
     private void rotateLeft(Node<E> node) {
         assert node != null && node.right != null;
+        if (this.metrics != null) {
+            this.metrics.countRotation();
+        }
         Node<E> parent = node.parent;
         Node<E> right = node.right;
         node.right = right.left;
@@ -205,6 +223,9 @@ public class AvlTreeSet<E> implements Set<E> {
 
     private void rotateRight(Node<E> node) {
         assert node != null && node.left != null;
+        if (this.metrics != null) {
+            this.metrics.countRotation();
+        }
         Node<E> parent = node.parent;
         Node<E> left = node.left;
         node.left = left.right;
@@ -8,11 +8,13 @@ public class BinarySearchTreeMap<K, V> implements Map<K, V> {
 
     private Node<K, V> root;
     private int size;
+    private Metrics metrics;
 
     public BinarySearchTreeMap(Comparator<? super K> comparator) {
         this.comparator = comparator;
         this.root = null;
         this.size = 0;
+        this.metrics = null;
     }
 
     public static void main(String... args) {
@@ -41,6 +43,16 @@ public class BinarySearchTreeMap<K, V> implements Map<K, V> {
         return this.size;
     }
 
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metrics = Metrics.toggle(this.metrics, enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return Metrics.snapshot(this.metrics);
+    }
+
     @Override
     public boolean contains(K key) {
         return node(this.root, key) != null;
@@ -114,6 +126,13 @@ public class BinarySearchTreeMap<K, V> implements Map<K, V> {
         return builder.toString();
     }
 
+    private int compare(K k1, K k2) {
+        if (this.metrics != null) {
+            this.metrics.countComparison();
+        }
+        return this.comparator.compare(k1, k2);
+    }
+
     private Node<K, V> leftmost(Node<K, V> node) {
         if (node == null) {
             return null;
@@ -130,7 +149,7 @@ public class BinarySearchTreeMap<K, V> implements Map<K, V> {
 
     private Node<K, V> node(Node<K, V> root, K key) {
         while (root != null) {
-            int comparison = this.comparator.compare(key, root.key);
+            int comparison = compare(key, root.key);
             if (comparison == 0) {
                 break;
             }
@@ -145,7 +164,7 @@ public class BinarySearchTreeMap<K, V> implements Map<K, V> {
         }
         Node<K, V> node = root;
         while (true) {
-            int comparison = this.comparator.compare(key, node.key);
+            int comparison = compare(key, node.key);
             if (comparison == 0) {
                 return null;
             }
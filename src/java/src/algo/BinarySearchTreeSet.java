@@ -9,11 +9,13 @@ public class BinarySearchTreeSet<E> implements Set<E> {
 
     private Node<E> root;
     private int size;
+    private Metrics metrics;
 
     public BinarySearchTreeSet(Comparator<? super E> comparator) {
         this.comparator = comparator;
         this.root = null;
         this.size = 0;
+        this.metrics = null;
     }
 
     public static void main(String[] args) {
@@ -44,6 +46,16 @@ public class BinarySearchTreeSet<E> implements Set<E> {
         return this.size;
     }
 
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metrics = Metrics.toggle(this.metrics, enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return Metrics.snapshot(this.metrics);
+    }
+
     @Override
     public void add(E e) {
         Node<E> node = add(this.root, e);
@@ -112,6 +124,13 @@ public class BinarySearchTreeSet<E> implements Set<E> {
         debug(printStream, root.left, level + 1);
     }
 
+    private int compare(E e1, E e2) {
+        if (this.metrics != null) {
+            this.metrics.countComparison();
+        }
+        return this.comparator.compare(e1, e2);
+    }
+
     private Node<E> leftmost(Node<E> node) {
         if (node == null) {
             return null;
@@ -128,7 +147,7 @@ public class BinarySearchTreeSet<E> implements Set<E> {
 
     private Node<E> node(Node<E> root, E item) {
         while (root != null) {
-            int comparison = this.comparator.compare(item, root.item);
+            int comparison = compare(item, root.item);
             if (comparison == 0) {
                 break;
             }
@@ -143,7 +162,7 @@ public class BinarySearchTreeSet<E> implements Set<E> {
         }
         Node<E> node = root;
         while (true) {
-            int comparison = this.comparator.compare(item, node.item);
+            int comparison = compare(item, node.item);
             if (comparison == 0) {
                 return null;
             }
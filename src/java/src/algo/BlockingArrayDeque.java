@@ -0,0 +1,167 @@
+package src.algo;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class BlockingArrayDeque<E> extends BlockingArrayQueue<E> implements BlockingDeque<E> {
+    private final ArrayDeque<E> deque;
+
+    public BlockingArrayDeque(int capacity) {
+        this(capacity, CapacityPolicy.DEFAULT);
+    }
+
+    public BlockingArrayDeque(int capacity, CapacityPolicy policy) {
+        this(new ArrayDeque<>(capacity, policy), capacity);
+    }
+
+    private BlockingArrayDeque(ArrayDeque<E> deque, int capacity) {
+        super(deque, capacity);
+        this.deque = deque;
+    }
+
+    @Override
+    public void enqueueFirst(E e) {
+        if (!offerFirst(e)) {
+            throw new RuntimeException("Queue is full.");
+        }
+    }
+
+    @Override
+    public E dequeueLast() {
+        E e = pollLast();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    @Override
+    public E peekLast() {
+        this.lock.lock();
+        try {
+            return this.deque.peekLast();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void enqueueAllFirst(E[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        for (int i = 0; i < length; i++) {
+            checkElement(es[offset + i]);
+        }
+        this.lock.lock();
+        try {
+            if (length > this.bound - this.deque.size()) {
+                throw new RuntimeException("Queue is full.");
+            }
+            this.deque.enqueueAllFirst(es, offset, length);
+            signal(this.notEmpty, length);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainLastTo(Consumer<? super E> action, int max) {
+        this.lock.lock();
+        int size = this.deque.size();
+        try {
+            return this.deque.drainLastTo(action, max);
+        } finally {
+            signal(this.notFull, size - this.deque.size());
+            this.lock.unlock();
+        }
+    }
+
+    // returns false instead of waiting when the deque is full
+    public boolean offerFirst(E e) {
+        checkElement(e);
+        this.lock.lock();
+        try {
+            if (this.deque.size() == this.bound) {
+                return false;
+            }
+            insertFirst(e);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // returns null instead of waiting when the deque is empty
+    public E pollLast() {
+        this.lock.lock();
+        try {
+            return this.deque.isEmpty() ? null : extractLast();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void putFirst(E e) throws InterruptedException {
+        checkElement(e);
+        this.lock.lockInterruptibly();
+        try {
+            awaitRoom(Long.MAX_VALUE);
+            insertFirst(e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E takeLast() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            awaitElement(Long.MAX_VALUE);
+            return extractLast();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offerFirst(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        checkElement(e);
+        long nanos = unit.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            if (!awaitRoom(nanos)) {
+                return false;
+            }
+            insertFirst(e);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E pollLast(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            return awaitElement(nanos) ? extractLast() : null;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // the callers hold the lock
+    private void insertFirst(E e) {
+        this.deque.enqueueFirst(e);
+        this.notEmpty.signal();
+    }
+
+    private E extractLast() {
+        E e = this.deque.dequeueLast();
+        this.notFull.signal();
+        return e;
+    }
+}
@@ -0,0 +1,49 @@
+package src.algo;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// An ArrayQueue that holds at most capacity elements and lets producers and consumers wait on it.
+public class BlockingArrayQueue<E> extends AbstractBlockingQueue<E> {
+    public BlockingArrayQueue(int capacity) {
+        this(capacity, CapacityPolicy.DEFAULT);
+    }
+
+    public BlockingArrayQueue(int capacity, CapacityPolicy policy) {
+        super(new ArrayQueue<>(capacity, policy), capacity);
+    }
+
+    protected BlockingArrayQueue(ArrayQueue<E> queue, int capacity) {
+        super(queue, capacity);
+    }
+
+    public static void main(String... args) throws InterruptedException {
+        BlockingArrayQueue<Integer> queue = new BlockingArrayQueue<>(64);
+        int consumers = 16;
+        int count = 100_000;
+        AtomicLong sum = new AtomicLong();
+        Thread[] threads = new Thread[consumers];
+        for (int c = 0; c < consumers; c++) {
+            threads[c] = new Thread(() -> {
+                try {
+                    // a negative element tells the consumer to stop
+                    for (int e = queue.take(); e >= 0; e = queue.take()) {
+                        sum.addAndGet(e);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[c].start();
+        }
+        for (int i = 1; i <= count; i++) {
+            queue.put(i);
+        }
+        for (int c = 0; c < consumers; c++) {
+            queue.put(-1);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.printf("sum %d (expected %d)%n", sum.get(), (long) count * (count + 1) / 2);
+    }
+}
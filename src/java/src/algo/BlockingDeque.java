@@ -0,0 +1,29 @@
+package src.algo;
+
+import java.util.concurrent.TimeUnit;
+
+public interface BlockingDeque<E> extends BlockingQueue<E>, Deque<E> {
+    public default void putLast(E e) throws InterruptedException {
+        put(e);
+    }
+
+    public abstract void putFirst(E e) throws InterruptedException;
+
+    public default E takeFirst() throws InterruptedException {
+        return take();
+    }
+
+    public abstract E takeLast() throws InterruptedException;
+
+    public default boolean offerLast(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        return offer(e, timeout, unit);
+    }
+
+    public abstract boolean offerFirst(E e, long timeout, TimeUnit unit) throws InterruptedException;
+
+    public default E pollFirst(long timeout, TimeUnit unit) throws InterruptedException {
+        return poll(timeout, unit);
+    }
+
+    public abstract E pollLast(long timeout, TimeUnit unit) throws InterruptedException;
+}
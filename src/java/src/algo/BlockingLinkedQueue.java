@@ -0,0 +1,12 @@
+package src.algo;
+
+// A LinkedQueue that producers and consumers can wait on. Without a bound put() never waits.
+public class BlockingLinkedQueue<E> extends AbstractBlockingQueue<E> {
+    public BlockingLinkedQueue() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public BlockingLinkedQueue(int bound) {
+        super(new LinkedQueue<>(), bound);
+    }
+}
@@ -0,0 +1,20 @@
+package src.algo;
+
+import java.util.concurrent.TimeUnit;
+
+// A queue that threads can wait on: put() waits while the queue is full and take() while it is
+// empty, and the timed offer() and poll() give up after the timeout. Waiting threads park, so they
+// cost no CPU, and every wait can be interrupted.
+public interface BlockingQueue<E> extends Queue<E> {
+    public abstract void put(E e) throws InterruptedException;
+
+    public abstract E take() throws InterruptedException;
+
+    // returns false if there was no room before the timeout
+    public abstract boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException;
+
+    // returns null if there was no element before the timeout
+    public abstract E poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    public abstract int remainingCapacity();
+}
@@ -0,0 +1,115 @@
+package src.algo;
+
+public final class CapacityPolicy {
+    public static final CapacityPolicy DEFAULT = new CapacityPolicy(2.0, 0.25, 16, 0.75);
+
+    private final double growthFactor;
+    private final double shrinkLoadFactor;
+    private final int minimumCapacity;
+    private final double maxLoadFactor;
+
+    // growthFactor: how much a full structure grows by, and a shrinking one shrinks by
+    // shrinkLoadFactor: shrink once size <= capacity * shrinkLoadFactor; zero never shrinks
+    // minimumCapacity: shrinking never goes below this capacity
+    // maxLoadFactor: hash tables grow once size > capacity * maxLoadFactor; arrays always fill up
+    public CapacityPolicy(double growthFactor, double shrinkLoadFactor, int minimumCapacity, double maxLoadFactor) {
+        if (!(growthFactor > 1.0) || Double.isInfinite(growthFactor)) {
+            throw new IllegalArgumentException("growthFactor: " + growthFactor);
+        }
+        if (!(shrinkLoadFactor >= 0.0 && shrinkLoadFactor < 1.0)) {
+            throw new IllegalArgumentException("shrinkLoadFactor: " + shrinkLoadFactor);
+        }
+        if (minimumCapacity < 1) {
+            throw new IllegalArgumentException("minimumCapacity: " + minimumCapacity);
+        }
+        if (!(maxLoadFactor > 0.0) || Double.isInfinite(maxLoadFactor)) {
+            throw new IllegalArgumentException("maxLoadFactor: " + maxLoadFactor);
+        }
+        // hysteresis: right after a shrink the structure must not be full enough to grow again
+        if (shrinkLoadFactor * growthFactor >= Math.min(maxLoadFactor, 1.0)) {
+            throw new IllegalArgumentException("shrinkLoadFactor * growthFactor must stay below the load factor");
+        }
+        this.growthFactor = growthFactor;
+        this.shrinkLoadFactor = shrinkLoadFactor;
+        this.minimumCapacity = minimumCapacity;
+        this.maxLoadFactor = maxLoadFactor;
+    }
+
+    public double getGrowthFactor() {
+        return this.growthFactor;
+    }
+
+    public double getShrinkLoadFactor() {
+        return this.shrinkLoadFactor;
+    }
+
+    public int getMinimumCapacity() {
+        return this.minimumCapacity;
+    }
+
+    public double getMaxLoadFactor() {
+        return this.maxLoadFactor;
+    }
+
+    public boolean isShrinking() {
+        return this.shrinkLoadFactor > 0.0;
+    }
+
+    public CapacityPolicy withGrowthFactor(double growthFactor) {
+        return new CapacityPolicy(growthFactor, this.shrinkLoadFactor, this.minimumCapacity, this.maxLoadFactor);
+    }
+
+    public CapacityPolicy withShrinkLoadFactor(double shrinkLoadFactor) {
+        return new CapacityPolicy(this.growthFactor, shrinkLoadFactor, this.minimumCapacity, this.maxLoadFactor);
+    }
+
+    public CapacityPolicy withMinimumCapacity(int minimumCapacity) {
+        return new CapacityPolicy(this.growthFactor, this.shrinkLoadFactor, minimumCapacity, this.maxLoadFactor);
+    }
+
+    public CapacityPolicy withMaxLoadFactor(double maxLoadFactor) {
+        return new CapacityPolicy(this.growthFactor, this.shrinkLoadFactor, this.minimumCapacity, maxLoadFactor);
+    }
+
+    public CapacityPolicy withoutShrinking() {
+        return withShrinkLoadFactor(0.0);
+    }
+
+    // the capacity to grow to so that at least minCapacity elements fit; minCapacity must not overflow
+    public int grow(int capacity, int minCapacity) {
+        long grown = (long) Math.ceil(capacity * this.growthFactor);
+        long newCapacity = Math.max(Math.max(grown, capacity + 1L), minCapacity);
+        return (int) Math.min(newCapacity, Integer.MAX_VALUE);
+    }
+
+    public boolean shouldShrink(int size, int capacity) {
+        return isShrinking() && capacity > this.minimumCapacity && size <= capacity * this.shrinkLoadFactor;
+    }
+
+    // the capacity to shrink to in one step, which may be several growth factors below the current one
+    public int shrink(int size, int capacity) {
+        int newCapacity = capacity;
+        while (shouldShrink(size, newCapacity)) {
+            int shrunk = Math.max((int) (newCapacity / this.growthFactor), this.minimumCapacity);
+            if (shrunk >= newCapacity) {
+                break;
+            }
+            newCapacity = shrunk;
+        }
+        return newCapacity;
+    }
+
+    public boolean exceedsLoad(int size, int capacity) {
+        return size > capacity * this.maxLoadFactor;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "{growthFactor: %s, shrinkLoadFactor: %s, minimumCapacity: %d, maxLoadFactor: %s}",
+            this.growthFactor,
+            this.shrinkLoadFactor,
+            this.minimumCapacity,
+            this.maxLoadFactor);
+    }
+}
@@ -0,0 +1,274 @@
+package src.algo;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// A list for many readers and rare writers. The elements are kept in an array that is never changed
+// once published: readers load the volatile reference and read from that snapshot without locking,
+// and writers copy the array under a lock, change the copy and publish it with one volatile write.
+// batch() applies any number of changes to one private copy and publishes a copy of that, so a burst
+// of writes pays for two copies however many writes it makes.
+public class CopyOnWriteList<E> implements List<E> {
+    private final ReentrantLock lock;
+    private volatile Object[] es;
+    private Metrics metrics;
+
+    public CopyOnWriteList() {
+        this.lock = new ReentrantLock();
+        this.es = new Object[0];
+        this.metrics = null;
+    }
+
+    public static void main(String... args) throws InterruptedException {
+        CopyOnWriteList<Integer> list = new CopyOnWriteList<>();
+        list.batch(vector -> {
+            for (int i = 0; i < 10; i++) {
+                vector.addLast(i);
+            }
+        });
+        Thread reader = new Thread(() -> {
+            for (int round = 0; round < 5; round++) {
+                int count = 0;
+                int sum = 0;
+                for (int e : list) {
+                    count++;
+                    sum += e;
+                }
+                System.out.printf("reader saw %d elements summing to %d%n", count, sum);
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 5; i++) {
+            list.removeFirst();
+        }
+        reader.join();
+        System.out.println(list);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.es.length == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.es.length;
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.lock.lock();
+        try {
+            this.metrics = Metrics.toggle(this.metrics, enabled);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        this.lock.lock();
+        try {
+            return Metrics.snapshot(this.metrics);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void addLast(E e) {
+        this.lock.lock();
+        try {
+            add(this.es, this.es.length, e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void addFirst(E e) {
+        this.lock.lock();
+        try {
+            add(this.es, 0, e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void add(int index, E e) {
+        this.lock.lock();
+        try {
+            Object[] es = this.es;
+            if (index < 0 || index > es.length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            add(es, index, e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E removeLast() {
+        this.lock.lock();
+        try {
+            return remove(this.es, this.es.length - 1);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E removeFirst() {
+        this.lock.lock();
+        try {
+            return remove(this.es, 0);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        this.lock.lock();
+        try {
+            return remove(this.es, index);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        Object[] es = this.es;
+        if (index < 0 || index >= es.length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        @SuppressWarnings("unchecked")
+        E item = (E) es[index];
+        return item;
+    }
+
+    @Override
+    public void set(int index, E e) {
+        this.lock.lock();
+        try {
+            Object[] es = this.es;
+            if (index < 0 || index >= es.length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            Object[] newEs = Arrays.copyOf(es, es.length);
+            newEs[index] = e;
+            this.es = newEs;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // Runs the mutation on a private copy and publishes the result at once, so readers see either
+    // none or all of its changes. If the mutation throws, nothing is published. What is published is
+    // a copy of the vector, so a mutation that keeps the vector cannot change it afterwards.
+    public void batch(Consumer<? super ArrayVector<E>> mutation) {
+        this.lock.lock();
+        try {
+            Object[] es = this.es;
+            ArrayVector<E> vector = new ArrayVector<>(es.length + (es.length >>> 1));
+            @SuppressWarnings("unchecked")
+            E[] items = (E[]) es;
+            vector.addAll(items);
+            mutation.accept(vector);
+            Object[] newEs = vector.toArray();
+            // like add() and remove(), and unlike set(), only a change of length counts as a resize
+            if (newEs.length != es.length && this.metrics != null) {
+                this.metrics.countResize();
+            }
+            this.es = newEs;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // the current snapshot; later writes do not change the returned array
+    public Object[] toArray() {
+        Object[] es = this.es;
+        return Arrays.copyOf(es, es.length);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.es);
+    }
+
+    // iterates over the snapshot taken when the iterator is created
+    @Override
+    public Iterator<E> iterator() {
+        return new CopyOnWriteListIterator<>(this.es);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(this.es, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    // the callers hold the lock
+    private void add(Object[] es, int index, E e) {
+        if (es.length == Integer.MAX_VALUE) {
+            throw new RuntimeException("Vector is full.");
+        }
+        Object[] newEs = new Object[es.length + 1];
+        System.arraycopy(es, 0, newEs, 0, index);
+        System.arraycopy(es, index, newEs, index + 1, es.length - index);
+        newEs[index] = e;
+        if (this.metrics != null) {
+            this.metrics.countResize();
+        }
+        this.es = newEs;
+    }
+
+    private E remove(Object[] es, int index) {
+        if (index < 0 || index >= es.length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        @SuppressWarnings("unchecked")
+        E ret = (E) es[index];
+        Object[] newEs = new Object[es.length - 1];
+        System.arraycopy(es, 0, newEs, 0, index);
+        System.arraycopy(es, index + 1, newEs, index, es.length - index - 1);
+        if (this.metrics != null) {
+            this.metrics.countResize();
+        }
+        this.es = newEs;
+        return ret;
+    }
+
+    private static class CopyOnWriteListIterator<E> implements Iterator<E> {
+        final Object[] es;
+        int index;
+
+        CopyOnWriteListIterator(Object[] es) {
+            this.es = es;
+            this.index = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index != this.es.length;
+        }
+
+        @Override
+        public E next() {
+            if (this.index == this.es.length) {
+                throw new NoSuchElementException();
+            }
+            @SuppressWarnings("unchecked")
+            E item = (E) this.es[this.index++];
+            return item;
+        }
+    }
+}
@@ -4,4 +4,12 @@ public interface DataStructure {
     public abstract boolean isEmpty();
 
     public abstract int size();
+
+    // structures without costly internal events ignore the switch and report nothing
+    public default void setMetricsEnabled(boolean enabled) {
+    }
+
+    public default MetricsSnapshot metrics() {
+        return MetricsSnapshot.EMPTY;
+    }
 }
@@ -1,5 +1,7 @@
 package src.algo;
 
+import java.util.function.Consumer;
+
 public interface Deque<E> extends Queue<E>, DataStructure {
     public default void enqueueLast(E e) {
         enqueue(e);
@@ -18,4 +20,27 @@ public interface Deque<E> extends Queue<E>, DataStructure {
     public default E peekFirst() {
         return peek();
     }
+
+    // puts es[offset, offset + length) in front of the deque, keeping their order
+    public default void enqueueAllFirst(E[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            enqueueFirst(es[offset + i]);
+        }
+    }
+
+    // dequeues up to max elements from the back, last first, and returns how many that was
+    public default int drainLastTo(Consumer<? super E> action, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = 0;
+        while (count < max && !isEmpty()) {
+            action.accept(dequeueLast());
+            count++;
+        }
+        return count;
+    }
 }
@@ -0,0 +1,228 @@
+package src.algo;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+
+public class DoubleVector implements DataStructure {
+    private final CapacityPolicy policy;
+
+    private double[] es;
+    private int capacity;
+    private int size;
+    private Metrics metrics;
+
+    public DoubleVector(int capacity) {
+        this(capacity, CapacityPolicy.DEFAULT);
+    }
+
+    public DoubleVector(int capacity, CapacityPolicy policy) {
+        if (capacity < 0 || policy == null) {
+            throw new IllegalArgumentException();
+        }
+        this.policy = policy;
+        this.capacity = Math.max(capacity, 1);
+        this.size = 0;
+        this.metrics = null;
+        this.es = new double[this.capacity];
+    }
+
+    public DoubleVector(double[] es) {
+        this(es.length);
+        addAll(es);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metrics = Metrics.toggle(this.metrics, enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return Metrics.snapshot(this.metrics);
+    }
+
+    public void addLast(double e) {
+        add(this.size, e);
+    }
+
+    public void addFirst(double e) {
+        add(0, e);
+    }
+
+    public void add(int index, double e) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        increase(this.size + 1);
+        System.arraycopy(this.es, index, this.es, index + 1, this.size - index);
+        this.es[index] = e;
+        this.size++;
+    }
+
+    public void addAll(double[] es) {
+        addAll(this.size, es, 0, es.length);
+    }
+
+    public void addAll(int index, double[] es, int offset, int length) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (offset < 0 || length < 0 || offset + length > es.length || offset + length < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return;
+        }
+        increase(this.size + length);
+        System.arraycopy(this.es, index, this.es, index + length, this.size - index);
+        System.arraycopy(es, offset, this.es, index, length);
+        this.size += length;
+    }
+
+    public double removeLast() {
+        return remove(this.size - 1);
+    }
+
+    public double removeFirst() {
+        return remove(0);
+    }
+
+    public double remove(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        double ret = this.es[index];
+        System.arraycopy(this.es, index + 1, this.es, index, this.size - index - 1);
+        this.size--;
+        decrease();
+        return ret;
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        System.arraycopy(this.es, toIndex, this.es, fromIndex, this.size - toIndex);
+        this.size -= toIndex - fromIndex;
+        decrease();
+    }
+
+    public double get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return this.es[index];
+    }
+
+    public void set(int index, double e) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        this.es[index] = e;
+    }
+
+    public void setAll(int index, double[] es, int offset, int length) {
+        if (index < 0 || length < 0 || index + length > this.size || index + length < 0) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        System.arraycopy(es, offset, this.es, index, length);
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(this.es, this.size);
+    }
+
+    public void copyTo(int fromIndex, double[] destination, int offset, int length) {
+        if (fromIndex < 0 || length < 0 || fromIndex + length > this.size || fromIndex + length < 0) {
+            throw new IndexOutOfBoundsException(fromIndex);
+        }
+        System.arraycopy(this.es, fromIndex, destination, offset, length);
+    }
+
+    public void forEach(DoubleConsumer action) {
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.es[i]);
+        }
+    }
+
+    public PrimitiveIterator.OfDouble iterator() {
+        return new DoubleVectorIterator(this, 0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(this.es[i]);
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    private void increase(int minCapacity) {
+        if (minCapacity <= this.capacity) {
+            return;
+        }
+        if (minCapacity < 0) {
+            throw new RuntimeException("Vector is full.");
+        }
+        replace(this.policy.grow(this.capacity, minCapacity));
+    }
+
+    private void decrease() {
+        if (!this.policy.shouldShrink(this.size, this.capacity)) {
+            return;
+        }
+        int newCapacity = this.policy.shrink(this.size, this.capacity);
+        if (newCapacity < this.capacity) {
+            replace(newCapacity);
+        }
+    }
+
+    private void replace(int newCapacity) {
+        if (this.metrics != null) {
+            this.metrics.countResize();
+        }
+        this.es = Arrays.copyOf(this.es, newCapacity);
+        this.capacity = newCapacity;
+    }
+
+    private static class DoubleVectorIterator implements PrimitiveIterator.OfDouble {
+        final DoubleVector vector;
+        int index;
+
+        DoubleVectorIterator(DoubleVector vector, int index) {
+            this.vector = vector;
+            this.index = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index != this.vector.size;
+        }
+
+        @Override
+        public double nextDouble() {
+            if (this.index == this.vector.size) {
+                throw new NoSuchElementException();
+            }
+            return this.vector.es[this.index++];
+        }
+    }
+}
@@ -1,18 +1,26 @@
 package src.algo;
 
 import java.util.Iterator;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public class DoublyLinkedList<E> implements List<E> {
     private int size;
     private Node<E> first;
     private Node<E> last;
+    // the node found by the last positional access, so that nearby accesses walk only a few links
+    private Node<E> cachedNode;
+    private int cachedIndex;
 
     public DoublyLinkedList() {
         this.size = 0;
         this.first = null;
         this.last = null;
+        this.cachedNode = null;
+        this.cachedIndex = 0;
     }
 
     public static void main(String... args) {
@@ -57,17 +65,7 @@ public class DoublyLinkedList<E> implements List<E> {
         if (index < 0 || index > this.size) {
             throw new IndexOutOfBoundsException(index);
         }
-        Node<E> newNode = new Node<>(e, null, null);
-        if (index == this.size) {
-            linkLast(newNode);
-            if (this.first == null) {
-                this.first = this.last;
-            }
-        } else {
-            Node<E> node = node(index);
-            linkBefore(node, newNode);
-        }
-        this.size++;
+        insert(index == this.size ? null : node(index), index, e);
     }
 
     @Override
@@ -85,14 +83,7 @@ public class DoublyLinkedList<E> implements List<E> {
         if (index < 0 || index >= this.size) {
             throw new IndexOutOfBoundsException(index);
         }
-        Node<E> node = node(index);
-        Node<E> obsolete = unlink(node);
-        E item = obsolete.item;
-        obsolete.item = null; // faster GC
-        obsolete.previous = null;
-        obsolete.next = null;
-        this.size--;
-        return item;
+        return delete(node(index), index);
     }
 
     @Override
@@ -126,27 +117,87 @@ public class DoublyLinkedList<E> implements List<E> {
         return new LinkedListIterator<>(this.first);
     }
 
+    @Override
+    public Spliterator<E> spliterator() {
+        return new LinkedListSpliterator<>(this.first, this.size);
+    }
+
+    public ListIterator<E> listIterator() {
+        return new LinkedListCursor<>(this, this.first, 0);
+    }
+
+    // a cursor placed before the element at the index, which inserts, removes and sets in O(1)
+    public ListIterator<E> listIterator(int index) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return new LinkedListCursor<>(this, index == this.size ? null : node(index), index);
+    }
+
     private Node<E> node(int index) {
         if (index < 0 || index >= this.size) {
             throw new IndexOutOfBoundsException(index);
         }
-        int half = this.size / 2;
+        // starts from whichever of the first, the last and the cached node is the nearest
+        int fromLast = this.size - 1 - index;
         Node<E> n;
-        if (index > half) {
+        int i;
+        if (index <= fromLast) {
+            n = this.first;
+            i = 0;
+        } else {
             n = this.last;
-            for (int i = this.size - 1; i > index; i--) {
-                n = n.previous;
+            i = this.size - 1;
+        }
+        if (this.cachedNode != null && Math.abs(index - this.cachedIndex) < Math.min(index, fromLast)) {
+            n = this.cachedNode;
+            i = this.cachedIndex;
+        }
+        while (i < index) {
+            n = n.next;
+            i++;
+        }
+        while (i > index) {
+            n = n.previous;
+            i--;
+        }
+        this.cachedNode = n;
+        this.cachedIndex = index;
+        return n;
+    }
+
+    // inserts before the successor, or at the end if it is null; index is the new element's index
+    private void insert(Node<E> successor, int index, E e) {
+        Node<E> newNode = new Node<>(e, null, null);
+        if (successor == null) {
+            linkLast(newNode);
+            if (this.first == null) {
+                this.first = this.last;
             }
         } else {
-            n = this.first;
-            for (int i = 0; i < index; i++) {
-                n = n.next;
-            }
+            linkBefore(successor, newNode);
         }
-        if (n == null) {
-            throw new IndexOutOfBoundsException(index);
+        this.size++;
+        this.cachedNode = newNode;
+        this.cachedIndex = index;
+    }
+
+    // removes the node at the index, keeping a neighbour of it as the cached node
+    private E delete(Node<E> node, int index) {
+        Node<E> obsolete = unlink(node);
+        if (obsolete.next != null) {
+            this.cachedNode = obsolete.next;
+            this.cachedIndex = index;
+        } else {
+            this.cachedNode = obsolete.previous;
+            this.cachedIndex = index - 1;
         }
-        return n;
+        E item = obsolete.item;
+        obsolete.item = null; // faster GC
+        obsolete.previous = null;
+        obsolete.next = null;
+        this.size--;
+        return item;
     }
 
     private void linkBefore(Node<E> node, Node<E> predecessor) {
@@ -225,4 +276,149 @@ public class DoublyLinkedList<E> implements List<E> {
             return item;
         }
     }
+
+    private static class LinkedListCursor<E> implements ListIterator<E> {
+        final DoublyLinkedList<E> list;
+        Node<E> next;
+        Node<E> lastReturned;
+        int nextIndex;
+
+        LinkedListCursor(DoublyLinkedList<E> list, Node<E> next, int nextIndex) {
+            this.list = list;
+            this.next = next;
+            this.lastReturned = null;
+            this.nextIndex = nextIndex;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextIndex < this.list.size;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.lastReturned = this.next;
+            this.next = this.next.next;
+            this.nextIndex++;
+            return this.lastReturned.item;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return this.nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            this.next = this.next == null ? this.list.last : this.next.previous;
+            this.lastReturned = this.next;
+            this.nextIndex--;
+            return this.lastReturned.item;
+        }
+
+        @Override
+        public int nextIndex() {
+            return this.nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return this.nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (this.lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (this.next == this.lastReturned) { // returned by previous()
+                this.next = this.lastReturned.next;
+                this.list.delete(this.lastReturned, this.nextIndex);
+            } else {
+                this.nextIndex--;
+                this.list.delete(this.lastReturned, this.nextIndex);
+            }
+            this.lastReturned = null;
+        }
+
+        @Override
+        public void set(E e) {
+            if (this.lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            this.lastReturned.item = e;
+        }
+
+        @Override
+        public void add(E e) {
+            this.list.insert(this.next, this.nextIndex++, e);
+            this.lastReturned = null;
+        }
+    }
+
+    private static class LinkedListSpliterator<E> implements Spliterator<E> {
+        Node<E> node;
+        int remaining;
+
+        LinkedListSpliterator(Node<E> node, int remaining) {
+            this.node = node;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (this.remaining == 0) {
+                return false;
+            }
+            E item = this.node.item;
+            this.node = this.node.next;
+            this.remaining--;
+            action.accept(item);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Node<E> node = this.node;
+            for (int i = this.remaining; i > 0; i--) {
+                action.accept(node.item);
+                node = node.next;
+            }
+            this.node = node;
+            this.remaining = 0;
+        }
+
+        // walks to the middle, which needs no buffer and leaves both halves with an exact size
+        @Override
+        public Spliterator<E> trySplit() {
+            int half = this.remaining >>> 1;
+            if (half == 0) {
+                return null;
+            }
+            Spliterator<E> prefix = new LinkedListSpliterator<>(this.node, half);
+            Node<E> node = this.node;
+            for (int i = 0; i < half; i++) {
+                node = node.next;
+            }
+            this.node = node;
+            this.remaining -= half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
@@ -3,24 +3,47 @@ package src.algo;
 import java.util.Random;
 
 public class HashSet<E> implements Set<E> {
-    private static final int DECREASE_BOUND = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final CapacityPolicy policy;
 
     private int capacity;
     private Node<E>[] buckets;
     private int size;
+    private Metrics metrics;
 
-    @SuppressWarnings("unchecked")
     public HashSet(int capacity) {
-        if (capacity < 1) {
+        this(capacity, CapacityPolicy.DEFAULT);
+    }
+
+    @SuppressWarnings("unchecked")
+    public HashSet(int capacity, CapacityPolicy policy) {
+        if (capacity < 1 || policy == null) {
             throw new IllegalArgumentException();
         }
-        this.capacity = capacity;
+        this.policy = policy;
+        // entries are masked out of the hash, so the table length must be a power of two
+        this.capacity = tableSizeFor(capacity);
         this.buckets = new Node[this.capacity];
         this.size = 0;
+        this.metrics = null;
     }
 
     private static int hash(Object o) {
-        return (o == null) ? 0 : (o.hashCode());
+        if (o == null) {
+            return 0;
+        }
+        // folds the high bits in, since the mask only keeps the low ones
+        int h = o.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        int highestOneBit = Integer.highestOneBit(capacity);
+        return highestOneBit == capacity ? capacity : highestOneBit << 1;
     }
 
     public static void main(String... args) {
@@ -67,9 +90,19 @@ public class HashSet<E> implements Set<E> {
         return this.size;
     }
 
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metrics = Metrics.toggle(this.metrics, enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return Metrics.snapshot(this.metrics);
+    }
+
     @Override
     public void add(E e) {
-        if (this.size == this.capacity) {
+        if (this.policy.exceedsLoad(this.size + 1, this.capacity)) {
             increase();
         }
         int entry = entry(e);
@@ -89,7 +122,7 @@ public class HashSet<E> implements Set<E> {
         result.previous = null;
         result.next = null;
         this.size--;
-        if ((this.size << 2) <= this.capacity) {
+        if (this.policy.shouldShrink(this.size, this.capacity)) {
             decrease();
         }
         return true;
@@ -145,63 +178,36 @@ public class HashSet<E> implements Set<E> {
     }
 
     private void increase() {
-        int newCapacity = this.capacity * 2;
-        // overflow check
-        if (newCapacity < this.capacity) {
-            newCapacity = Integer.MAX_VALUE;
-        }
-        if (newCapacity == this.capacity) {
-            throw new RuntimeException("Set is full.");
-        }
-        replace(newCapacity);
-        for (int i = 0; i < this.capacity; i++) {
-            Node<E> bucket = this.buckets[i];
-            if (bucket == null) {
-                continue;
-            }
-            while (bucket != null) {
-                int entry = entry(bucket.item);
-                Node<E> next = bucket.next;
-                if (i != entry) {
-                    unlink(i, bucket);
-                    rehashInsert(entry, bucket);
-                }
-                bucket = next;
-            }
+        if (this.capacity == MAXIMUM_CAPACITY) {
+            return; // chains grow longer from here on
         }
+        rehash(tableSizeFor(this.policy.grow(this.capacity, this.capacity + 1)));
     }
 
     private void decrease() {
-        int newCapacity = Math.max(this.capacity / 2, DECREASE_BOUND);
+        int newCapacity = tableSizeFor(this.policy.shrink(this.size, this.capacity));
         if (newCapacity >= this.capacity) {
             return;
         }
-        for (int i = newCapacity; i < this.capacity; i++) {
-            Node<E> node = this.buckets[i];
-            if (node == null) {
-                continue;
-            }
-            while (node != null) {
-                int entry = entry(node.item) % newCapacity;
-                Node<E> next = node.next;
-                if (i != entry) {
-                    unlink(i, node);
-                    rehashInsert(entry, node);
-                }
-                node = next;
-            }
-        }
-        replace(newCapacity);
+        rehash(newCapacity);
     }
 
     private boolean insert(int entry, E e) {
         Node<E> node = this.buckets[entry];
+        int length = 0;
         for (Node<E> n = node; n != null; n = n.next) {
+            length++;
             E item = n.item;
             if (item.equals(e)) {
+                if (this.metrics != null) {
+                    this.metrics.countProbe(length);
+                }
                 return false;
             }
         }
+        if (this.metrics != null) {
+            this.metrics.countProbe(length);
+        }
         Node<E> newNode = new Node<>(e, null, node);
         if (node != null) {
             node.previous = newNode;
@@ -221,25 +227,40 @@ public class HashSet<E> implements Set<E> {
     }
 
     @SuppressWarnings("unchecked")
-    private void replace(int newCapacity) {
-        Node<E>[] newBuckets = new Node[newCapacity];
-        for (int i = 0; i < this.size; i++) {
-            newBuckets[i] = this.buckets[i];
-            this.buckets[i] = null; // faster GC
+    private void rehash(int newCapacity) {
+        if (this.metrics != null) {
+            this.metrics.countResize();
         }
+        Node<E>[] oldBuckets = this.buckets;
+        this.buckets = new Node[newCapacity];
         this.capacity = newCapacity;
-        this.buckets = newBuckets;
+        for (int i = 0; i < oldBuckets.length; i++) {
+            Node<E> node = oldBuckets[i];
+            while (node != null) {
+                Node<E> next = node.next;
+                rehashInsert(entry(node.item), node);
+                if (this.metrics != null) {
+                    this.metrics.countRehash();
+                }
+                node = next;
+            }
+        }
     }
 
     private Node<E> find(int entry, E e) {
         Node<E> node = this.buckets[entry];
+        int length = 0;
         while (node != null) {
+            length++;
             E item = node.item;
             if (item.equals(e)) {
                 break;
             }
             node = node.next;
         }
+        if (this.metrics != null) {
+            this.metrics.countProbe(length);
+        }
         return node;
     }
 
@@ -0,0 +1,335 @@
+package src.algo;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+// A deque of int values in a ring, so elements are never boxed and a traversal that only enqueues and
+// dequeues produces no garbage once the ring is large enough. The ring length is a power of two, so
+// positions wrap with a mask; growing and shrinking follow the CapacityPolicy, rounded to a power of two.
+public class IntArrayDeque implements DataStructure {
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final CapacityPolicy policy;
+
+    private int[] es;
+    private int head;
+    private int size;
+    private Metrics metrics;
+
+    public IntArrayDeque(int capacity) {
+        this(capacity, CapacityPolicy.DEFAULT);
+    }
+
+    public IntArrayDeque(int capacity, CapacityPolicy policy) {
+        if (capacity < 0 || capacity > MAXIMUM_CAPACITY || policy == null) {
+            throw new IllegalArgumentException();
+        }
+        this.policy = policy;
+        this.es = new int[ceilingPowerOfTwo(Math.max(capacity, 1))];
+        this.head = 0;
+        this.size = 0;
+        this.metrics = null;
+    }
+
+    public static void main(String... args) {
+        // breadth-first distances on a grid with walls, with cells packed into ints as y * width + x
+        int width = 2_000;
+        int height = 2_000;
+        boolean[] wall = new boolean[width * height];
+        for (int y = 1; y < height; y += 4) {
+            for (int x = 0; x < width - 1; x++) {
+                wall[y * width + (y % 8 == 1 ? x + 1 : x)] = true;
+            }
+        }
+        int[] distance = new int[width * height];
+        Arrays.fill(distance, -1);
+        IntArrayDeque frontier = new IntArrayDeque(1024);
+        distance[0] = 0;
+        frontier.enqueue(0);
+        int[] steps = {-1, 1, -width, width};
+        long start = System.nanoTime();
+        while (!frontier.isEmpty()) {
+            int cell = frontier.dequeue();
+            int x = cell % width;
+            int y = cell / width;
+            for (int d = 0; d < steps.length; d++) {
+                boolean inside = d == 0 ? x > 0 : d == 1 ? x < width - 1 : d == 2 ? y > 0 : y < height - 1;
+                int neighbor = cell + steps[d];
+                if (inside && !wall[neighbor] && distance[neighbor] < 0) {
+                    distance[neighbor] = distance[cell] + 1;
+                    frontier.enqueue(neighbor);
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("distance to the far corner %d in %d ms, frontier capacity %d%n",
+            distance[width * height - 1], elapsed / 1_000_000, frontier.capacity());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metrics = Metrics.toggle(this.metrics, enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return Metrics.snapshot(this.metrics);
+    }
+
+    public int capacity() {
+        return this.es.length;
+    }
+
+    public void enqueue(int e) {
+        increase(this.size + 1);
+        this.es[(this.head + this.size) & (this.es.length - 1)] = e;
+        this.size++;
+    }
+
+    public void enqueueLast(int e) {
+        enqueue(e);
+    }
+
+    public void enqueueFirst(int e) {
+        increase(this.size + 1);
+        this.head = (this.head - 1) & (this.es.length - 1);
+        this.es[this.head] = e;
+        this.size++;
+    }
+
+    public int dequeue() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        int ret = this.es[this.head];
+        this.head = (this.head + 1) & (this.es.length - 1);
+        this.size--;
+        decrease();
+        return ret;
+    }
+
+    public int dequeueFirst() {
+        return dequeue();
+    }
+
+    public int dequeueLast() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        int ret = this.es[(this.head + this.size - 1) & (this.es.length - 1)];
+        this.size--;
+        decrease();
+        return ret;
+    }
+
+    public int peek() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        return this.es[this.head];
+    }
+
+    public int peekFirst() {
+        return peek();
+    }
+
+    public int peekLast() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        return this.es[(this.head + this.size - 1) & (this.es.length - 1)];
+    }
+
+    // the index-th element from the front
+    public int get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return this.es[(this.head + index) & (this.es.length - 1)];
+    }
+
+    // keeps the capacity, so a traversal can reuse the deque without growing it again
+    public void clear() {
+        this.head = 0;
+        this.size = 0;
+    }
+
+    // one growth step and at most two block copies, up to the end of the array and from its start
+    public void enqueueAll(int[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > es.length || offset + length < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        increase(this.size + length);
+        int tail = (this.head + this.size) & (this.es.length - 1);
+        int first = Math.min(length, this.es.length - tail);
+        System.arraycopy(es, offset, this.es, tail, first);
+        System.arraycopy(es, offset + first, this.es, 0, length - first);
+        this.size += length;
+    }
+
+    // puts es[offset, offset + length) in front of the deque, keeping their order
+    public void enqueueAllFirst(int[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > es.length || offset + length < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        increase(this.size + length);
+        int last = Math.min(length, this.head);
+        int wrapped = length - last;
+        System.arraycopy(es, offset + wrapped, this.es, this.head - last, last);
+        System.arraycopy(es, offset, this.es, this.es.length - wrapped, wrapped);
+        this.head = (this.head - length) & (this.es.length - 1);
+        this.size += length;
+    }
+
+    // dequeues up to max elements, passing each to the action, and returns how many that was
+    public int drainTo(IntConsumer action, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = Math.min(max, this.size);
+        int mask = this.es.length - 1;
+        for (int i = 0; i < count; i++) {
+            int e = this.es[this.head];
+            this.head = (this.head + 1) & mask;
+            this.size--;
+            action.accept(e);
+        }
+        decrease();
+        return count;
+    }
+
+    // dequeues up to max elements from the back, last first, and returns how many that was
+    public int drainLastTo(IntConsumer action, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = Math.min(max, this.size);
+        int mask = this.es.length - 1;
+        for (int i = 0; i < count; i++) {
+            int e = this.es[(this.head + this.size - 1) & mask];
+            this.size--;
+            action.accept(e);
+        }
+        decrease();
+        return count;
+    }
+
+    // dequeues into es from index 0 until it is full or the deque is empty and returns how many
+    public int dequeueInto(int[] es) {
+        int count = Math.min(es.length, this.size);
+        int first = Math.min(count, this.es.length - this.head);
+        System.arraycopy(this.es, this.head, es, 0, first);
+        System.arraycopy(this.es, 0, es, first, count - first);
+        this.head = (this.head + count) & (this.es.length - 1);
+        this.size -= count;
+        decrease();
+        return count;
+    }
+
+    public int[] toArray() {
+        int[] array = new int[this.size];
+        int first = Math.min(this.size, this.es.length - this.head);
+        System.arraycopy(this.es, this.head, array, 0, first);
+        System.arraycopy(this.es, 0, array, first, this.size - first);
+        return array;
+    }
+
+    public void forEach(IntConsumer action) {
+        int mask = this.es.length - 1;
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.es[(this.head + i) & mask]);
+        }
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntArrayDequeIterator(this);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(this.es[(this.head + i) & (this.es.length - 1)]);
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    private static int ceilingPowerOfTwo(int capacity) {
+        int highestOneBit = Integer.highestOneBit(capacity);
+        return highestOneBit == capacity ? capacity : highestOneBit << 1;
+    }
+
+    private void increase(int minCapacity) {
+        if (minCapacity <= this.es.length) {
+            return;
+        }
+        if (minCapacity < 0 || minCapacity > MAXIMUM_CAPACITY) {
+            throw new RuntimeException("Queue is full.");
+        }
+        int grown = this.policy.grow(this.es.length, minCapacity);
+        replace(ceilingPowerOfTwo(Math.min(Math.max(grown, minCapacity), MAXIMUM_CAPACITY)));
+    }
+
+    private void decrease() {
+        if (!this.policy.shouldShrink(this.size, this.es.length)) {
+            return;
+        }
+        int newCapacity = ceilingPowerOfTwo(Math.max(this.policy.shrink(this.size, this.es.length), 1));
+        if (newCapacity < this.es.length && newCapacity >= this.size) {
+            replace(newCapacity);
+        }
+    }
+
+    // unrolls the ring into the new array, so head starts over at zero
+    private void replace(int newCapacity) {
+        if (this.metrics != null) {
+            this.metrics.countResize();
+        }
+        int[] newEs = new int[newCapacity];
+        int first = Math.min(this.size, this.es.length - this.head);
+        System.arraycopy(this.es, this.head, newEs, 0, first);
+        System.arraycopy(this.es, 0, newEs, first, this.size - first);
+        this.es = newEs;
+        this.head = 0;
+    }
+
+    private static class IntArrayDequeIterator implements PrimitiveIterator.OfInt {
+        final IntArrayDeque deque;
+        int index;
+
+        IntArrayDequeIterator(IntArrayDeque deque) {
+            this.deque = deque;
+            this.index = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index != this.deque.size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (this.index == this.deque.size) {
+                throw new NoSuchElementException();
+            }
+            return this.deque.get(this.index++);
+        }
+    }
+}
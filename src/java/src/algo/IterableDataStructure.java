@@ -0,0 +1,23 @@
+package src.algo;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// The stream entry points shared by the vectors, queues and stacks.
+public interface IterableDataStructure<E> extends DataStructure, Iterable<E> {
+    // sized but only splittable in batches; implementations that can split better override this
+    @Override
+    public default Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    public default Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public default Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+}
@@ -1,6 +1,7 @@
 package src.algo;
 
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 public class LinkedDeque<E> extends LinkedQueue<E> implements Deque<E> {
     public LinkedDeque() {
@@ -20,6 +21,16 @@ public class LinkedDeque<E> extends LinkedQueue<E> implements Deque<E> {
         return this.list.removeLast();
     }
 
+    @Override
+    public void enqueueAllFirst(E[] es, int offset, int length) {
+        this.list.addAllFirst(es, offset, length);
+    }
+
+    @Override
+    public int drainLastTo(Consumer<? super E> action, int max) {
+        return this.list.drainLast(action, max);
+    }
+
     @Override
     public E peekLast() {
         if (this.list.isEmpty()) {
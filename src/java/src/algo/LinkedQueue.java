@@ -3,12 +3,14 @@ package src.algo;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public class LinkedQueue<E> implements Queue<E> {
-    protected final DoublyLinkedList<E> list;
+    protected final UnrolledLinkedList<E> list;
 
     public LinkedQueue() {
-        this.list = new DoublyLinkedList<>();
+        this.list = new UnrolledLinkedList<>();
     }
 
     public static void main(String[] args) {
@@ -50,6 +52,21 @@ public class LinkedQueue<E> implements Queue<E> {
         return this.list.removeFirst();
     }
 
+    @Override
+    public void enqueueAll(E[] es, int offset, int length) {
+        this.list.addAllLast(es, offset, length);
+    }
+
+    @Override
+    public int drainTo(Consumer<? super E> action, int max) {
+        return this.list.drainFirst(action, max);
+    }
+
+    @Override
+    public int dequeueInto(E[] es) {
+        return this.list.removeFirstInto(es, 0, es.length);
+    }
+
     @Override
     public E peek() {
         if (this.list.isEmpty()) {
@@ -67,4 +84,9 @@ public class LinkedQueue<E> implements Queue<E> {
     public Iterator<E> iterator() {
         return this.list.iterator();
     }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return this.list.spliterator();
+    }
 }
@@ -2,12 +2,13 @@ package src.algo;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
 
 public class LinkedStack<E> implements Stack<E> {
-    private final DoublyLinkedList<E> list;
+    private final List<E> list;
 
     public LinkedStack() {
-        this.list = new DoublyLinkedList<>();
+        this.list = new UnrolledLinkedList<>();
     }
 
     @Override
@@ -51,4 +52,9 @@ public class LinkedStack<E> implements Stack<E> {
     public Iterator<E> iterator() {
         return this.list.iterator();
     }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return this.list.spliterator();
+    }
 }
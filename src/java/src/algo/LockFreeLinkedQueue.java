@@ -0,0 +1,329 @@
+package src.algo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// The Michael-Scott queue: an unbounded singly linked queue for any number of producers and consumers.
+// head always points to a sentinel whose successor is the first element, so producers only touch the
+// tail and consumers only the head. A producer links its node with a CAS on the last node's next and
+// then swings tail; a thread that finds tail lagging behind swings it first, so nobody waits for a
+// stalled thread. A dequeued sentinel links to itself, so a node held by a stalled thread does not
+// keep the rest of the queue alive. The size is kept in a LongAdder and is therefore an estimate.
+public class LockFreeLinkedQueue<E> implements Queue<E> {
+    private static final VarHandle REFERENCES = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle NEXT;
+    private static final int PADDING = 32; // references, or at least two 64-byte cache lines
+    private static final int HEAD = PADDING;
+    private static final int TAIL = PADDING * 3;
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] ends;
+    private final LongAdder size;
+
+    public LockFreeLinkedQueue() {
+        Node<E> sentinel = new Node<>(null);
+        this.ends = new Object[PADDING * 4];
+        this.ends[HEAD] = sentinel;
+        this.ends[TAIL] = sentinel;
+        this.size = new LongAdder();
+    }
+
+    public static void main(String... args) throws InterruptedException {
+        LockFreeLinkedQueue<Integer> queue = new LockFreeLinkedQueue<>();
+        int producers = 4;
+        int perProducer = 250_000;
+        AtomicLong sum = new AtomicLong();
+        Thread[] threads = new Thread[producers * 2];
+        for (int p = 0; p < producers; p++) {
+            threads[p] = new Thread(() -> {
+                for (int i = 1; i <= perProducer; i++) {
+                    queue.enqueue(i);
+                }
+            });
+            threads[producers + p] = new Thread(() -> {
+                long local = 0;
+                for (int i = 0; i < perProducer; i++) {
+                    Integer e;
+                    while ((e = queue.poll()) == null) {
+                        Thread.yield();
+                    }
+                    local += e;
+                }
+                sum.addAndGet(local);
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        long expected = (long) producers * perProducer * (perProducer + 1) / 2;
+        System.out.printf("sum %d (expected %d) in %d ms, size %d%n",
+            sum.get(), expected, elapsed / 1_000_000, queue.size());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        while (true) {
+            Node<E> head = head();
+            Node<E> next = head.next;
+            // a sentinel linked to itself has just been dequeued, so look at the new head
+            if (next != head) {
+                return next == null;
+            }
+        }
+    }
+
+    // O(1): the sum of the enqueue and dequeue counts, exact when no other thread changes the queue
+    @Override
+    public int size() {
+        return (int) Math.max(0, Math.min(this.size.sum(), Integer.MAX_VALUE));
+    }
+
+    @Override
+    public void enqueue(E e) {
+        if (e == null) {
+            throw new IllegalArgumentException();
+        }
+        Node<E> node = new Node<>(e);
+        link(node, node);
+        this.size.increment();
+    }
+
+    // links the whole batch as one chain, with a single CAS on the last node
+    @Override
+    public void enqueueAll(E[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        if (length == 0) {
+            return;
+        }
+        Node<E> first = null;
+        Node<E> last = null;
+        for (int i = 0; i < length; i++) {
+            if (es[offset + i] == null) {
+                throw new IllegalArgumentException();
+            }
+            Node<E> node = new Node<>(es[offset + i]);
+            if (first == null) {
+                first = node;
+            } else {
+                NEXT.set(last, node); // a plain store, published by the CAS that links first
+            }
+            last = node;
+        }
+        link(first, last);
+        this.size.add(length);
+    }
+
+    @Override
+    public E dequeue() {
+        E e = poll();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    // returns null instead of throwing when the queue is empty
+    public E poll() {
+        while (true) {
+            Node<E> head = head();
+            Node<E> tail = tail();
+            Node<E> next = head.next;
+            if (head != head()) {
+                continue;
+            }
+            if (next == null) {
+                return null;
+            }
+            if (head == tail) {
+                // tail lags behind a linked node; head must never pass it
+                REFERENCES.compareAndSet(this.ends, TAIL, tail, next);
+                continue;
+            }
+            if (REFERENCES.compareAndSet(this.ends, HEAD, head, next)) {
+                // next is the new sentinel and only the winner of the CAS reads its item
+                E e = next.item;
+                next.item = null; // faster GC
+                head.next = head; // faster GC
+                this.size.decrement();
+                return e;
+            }
+        }
+    }
+
+    // other consumers may empty the queue meanwhile, so these poll instead of checking isEmpty() first
+    @Override
+    public int drainTo(Consumer<? super E> action, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = 0;
+        E e;
+        while (count < max && (e = poll()) != null) {
+            action.accept(e);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int dequeueInto(E[] es) {
+        int count = 0;
+        E e;
+        while (count < es.length && (e = poll()) != null) {
+            es[count++] = e;
+        }
+        return count;
+    }
+
+    @Override
+    public E peek() {
+        while (true) {
+            Node<E> head = head();
+            Node<E> first = head.next;
+            if (first == null) {
+                throw new NoSuchElementException();
+            }
+            E e = first.item;
+            // a null item or a moved head means a consumer took the element meanwhile
+            if (e != null && head == head()) {
+                return e;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        Iterator<E> iterator = iterator();
+        while (iterator.hasNext()) {
+            builder.append(iterator.next());
+            if (iterator.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    // weakly consistent: sees every element that stays in the queue, and maybe some added meanwhile
+    @Override
+    public Iterator<E> iterator() {
+        return new LockFreeLinkedQueueIterator<>(this);
+    }
+
+    // not sized, because the estimate in size() may disagree with what the iterator finds
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize(
+            iterator(), Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<E> head() {
+        return (Node<E>) REFERENCES.getVolatile(this.ends, HEAD);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<E> tail() {
+        return (Node<E>) REFERENCES.getVolatile(this.ends, TAIL);
+    }
+
+    // appends the chain first..last, whose links are already set up
+    private void link(Node<E> first, Node<E> last) {
+        while (true) {
+            Node<E> tail = tail();
+            Node<E> next = tail.next;
+            if (tail != tail()) {
+                continue;
+            }
+            if (next == null) {
+                if (NEXT.compareAndSet(tail, null, first)) {
+                    // failing is fine: another thread has already swung tail past the chain's start
+                    REFERENCES.compareAndSet(this.ends, TAIL, tail, last);
+                    return;
+                }
+            } else {
+                REFERENCES.compareAndSet(this.ends, TAIL, tail, next);
+            }
+        }
+    }
+
+    private static class Node<E> {
+        volatile E item;
+        volatile Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+            this.next = null;
+        }
+    }
+
+    private static class LockFreeLinkedQueueIterator<E> implements Iterator<E> {
+        final LockFreeLinkedQueue<E> queue;
+        Node<E> node;
+        E item;
+
+        LockFreeLinkedQueueIterator(LockFreeLinkedQueue<E> queue) {
+            this.queue = queue;
+            this.node = queue.head();
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.item != null;
+        }
+
+        @Override
+        public E next() {
+            if (this.item == null) {
+                throw new NoSuchElementException();
+            }
+            E item = this.item;
+            advance();
+            return item;
+        }
+
+        // moves to the next node with an item, starting over from head if the node has been dequeued
+        private void advance() {
+            while (true) {
+                Node<E> next = this.node.next;
+                if (next == this.node) {
+                    next = this.queue.head().next;
+                }
+                if (next == null) {
+                    this.item = null;
+                    return;
+                }
+                this.node = next;
+                E item = next.item;
+                if (item != null) {
+                    this.item = item;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package src.algo;
+
+// Mutable counters owned by a single structure. The structure holds a null reference
+// while metrics are disabled, so the hot path only pays for a null check.
+// The counters are plain fields: a snapshot taken from another thread may be slightly stale.
+final class Metrics {
+    private long comparisons;
+    private long rotations;
+    private long resizes;
+    private long rehashes;
+    private long probes;
+    private long probeLength;
+    private int maxProbeLength;
+
+    static Metrics toggle(Metrics metrics, boolean enabled) {
+        if (!enabled) {
+            return null;
+        }
+        return metrics == null ? new Metrics() : metrics;
+    }
+
+    static MetricsSnapshot snapshot(Metrics metrics) {
+        if (metrics == null) {
+            return MetricsSnapshot.EMPTY;
+        }
+        return new MetricsSnapshot(
+            metrics.comparisons,
+            metrics.rotations,
+            metrics.resizes,
+            metrics.rehashes,
+            metrics.probes,
+            metrics.probeLength,
+            metrics.maxProbeLength);
+    }
+
+    void countComparison() {
+        this.comparisons++;
+    }
+
+    void countRotation() {
+        this.rotations++;
+    }
+
+    void countResize() {
+        this.resizes++;
+    }
+
+    void countRehash() {
+        this.rehashes++;
+    }
+
+    void countProbe(int length) {
+        this.probes++;
+        this.probeLength += length;
+        if (length > this.maxProbeLength) {
+            this.maxProbeLength = length;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package src.algo;
+
+public final class MetricsSnapshot {
+    public static final MetricsSnapshot EMPTY = new MetricsSnapshot(0L, 0L, 0L, 0L, 0L, 0L, 0);
+
+    private final long comparisons;
+    private final long rotations;
+    private final long resizes;
+    private final long rehashes;
+    private final long probes;
+    private final long probeLength;
+    private final int maxProbeLength;
+
+    MetricsSnapshot(
+        long comparisons,
+        long rotations,
+        long resizes,
+        long rehashes,
+        long probes,
+        long probeLength,
+        int maxProbeLength) {
+        this.comparisons = comparisons;
+        this.rotations = rotations;
+        this.resizes = resizes;
+        this.rehashes = rehashes;
+        this.probes = probes;
+        this.probeLength = probeLength;
+        this.maxProbeLength = maxProbeLength;
+    }
+
+    // comparator calls made by ordered structures
+    public long getComparisons() {
+        return this.comparisons;
+    }
+
+    // single rotations made while rebalancing trees
+    public long getRotations() {
+        return this.rotations;
+    }
+
+    // reallocations of a backing array, growing or shrinking
+    public long getResizes() {
+        return this.resizes;
+    }
+
+    // elements re-inserted into a new bucket table while a hash table was resized
+    public long getRehashes() {
+        return this.rehashes;
+    }
+
+    // hash chain walks, with the total and the longest number of nodes visited
+    public long getProbes() {
+        return this.probes;
+    }
+
+    public long getProbeLength() {
+        return this.probeLength;
+    }
+
+    public int getMaxProbeLength() {
+        return this.maxProbeLength;
+    }
+
+    public double getAverageProbeLength() {
+        return this.probes == 0L ? 0.0 : (double) this.probeLength / this.probes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "{comparisons: %d, rotations: %d, resizes: %d, rehashes: %d, probes: %d, averageProbeLength: %.2f, maxProbeLength: %d}",
+            this.comparisons,
+            this.rotations,
+            this.resizes,
+            this.rehashes,
+            this.probes,
+            getAverageProbeLength(),
+            this.maxProbeLength);
+    }
+}
@@ -0,0 +1,263 @@
+package src.algo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// A bounded lock-free queue for any number of producers and consumers, on the ring layout of
+// ArrayQueue. Every slot carries a sequence number that tells whose turn it is: a producer may fill
+// slot i for position p when its sequence is p, and publishes it by setting p + 1; a consumer may
+// empty it when the sequence is p + 1, and hands it to the next lap by setting p + capacity. So a
+// producer and a consumer only contend when they CAS the same position counter, and the counters live
+// in one padded array, far enough apart that they do not share a cache line.
+public class MpmcArrayQueue<E> implements Queue<E> {
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int PADDING = 16; // longs, or two 64-byte cache lines
+    private static final int ENQUEUE = PADDING;
+    private static final int DEQUEUE = PADDING * 3;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final Object[] es;
+    private final long[] sequences;
+    private final long[] counters;
+    private final int mask;
+
+    public MpmcArrayQueue(int capacity) {
+        if (capacity < 2 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException();
+        }
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+        this.es = new Object[length];
+        this.sequences = new long[length];
+        for (int i = 0; i < length; i++) {
+            this.sequences[i] = i;
+        }
+        this.counters = new long[PADDING * 4];
+        this.mask = length - 1;
+    }
+
+    public static void main(String... args) throws InterruptedException {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(1024);
+        int producers = 4;
+        int perProducer = 250_000;
+        AtomicLong sum = new AtomicLong();
+        Thread[] threads = new Thread[producers * 2];
+        for (int p = 0; p < producers; p++) {
+            threads[p] = new Thread(() -> {
+                for (int i = 1; i <= perProducer; i++) {
+                    while (!queue.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads[producers + p] = new Thread(() -> {
+                long local = 0;
+                for (int i = 0; i < perProducer; i++) {
+                    Integer e;
+                    while ((e = queue.poll()) == null) {
+                        Thread.yield();
+                    }
+                    local += e;
+                }
+                sum.addAndGet(local);
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        long expected = (long) producers * perProducer * (perProducer + 1) / 2;
+        System.out.printf("sum %d (expected %d) in %d ms%n", sum.get(), expected, elapsed / 1_000_000);
+    }
+
+    public int capacity() {
+        return this.es.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // exact when no other thread is changing the queue, otherwise a value it has passed through
+    @Override
+    public int size() {
+        long dequeued = (long) LONGS.getVolatile(this.counters, DEQUEUE);
+        while (true) {
+            long enqueued = (long) LONGS.getVolatile(this.counters, ENQUEUE);
+            long again = (long) LONGS.getVolatile(this.counters, DEQUEUE);
+            if (again == dequeued) {
+                return (int) Math.max(0, Math.min(enqueued - dequeued, this.es.length));
+            }
+            dequeued = again;
+        }
+    }
+
+    @Override
+    public void enqueue(E e) {
+        if (!offer(e)) {
+            throw new RuntimeException("Queue is full.");
+        }
+    }
+
+    @Override
+    public E dequeue() {
+        E e = poll();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    // returns false instead of waiting when the queue is full
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new IllegalArgumentException();
+        }
+        long position = (long) LONGS.getVolatile(this.counters, ENQUEUE);
+        int index;
+        while (true) {
+            index = (int) position & this.mask;
+            long sequence = (long) LONGS.getAcquire(this.sequences, index);
+            long difference = sequence - position;
+            if (difference == 0) {
+                if (LONGS.compareAndSet(this.counters, ENQUEUE, position, position + 1)) {
+                    break;
+                }
+                position = (long) LONGS.getVolatile(this.counters, ENQUEUE);
+            } else if (difference < 0) {
+                // the slot still holds the element of the previous lap
+                return false;
+            } else {
+                // another producer has taken this position
+                position = (long) LONGS.getVolatile(this.counters, ENQUEUE);
+            }
+        }
+        this.es[index] = e;
+        LONGS.setRelease(this.sequences, index, position + 1);
+        return true;
+    }
+
+    // returns null instead of throwing when the queue is empty
+    public E poll() {
+        long position = (long) LONGS.getVolatile(this.counters, DEQUEUE);
+        int index;
+        while (true) {
+            index = (int) position & this.mask;
+            long sequence = (long) LONGS.getAcquire(this.sequences, index);
+            long difference = sequence - (position + 1);
+            if (difference == 0) {
+                if (LONGS.compareAndSet(this.counters, DEQUEUE, position, position + 1)) {
+                    break;
+                }
+                position = (long) LONGS.getVolatile(this.counters, DEQUEUE);
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = (long) LONGS.getVolatile(this.counters, DEQUEUE);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        E e = (E) this.es[index];
+        this.es[index] = null; // faster GC
+        LONGS.setRelease(this.sequences, index, position + this.mask + 1);
+        return e;
+    }
+
+    // other consumers may empty the queue meanwhile, so these poll instead of checking isEmpty() first
+    @Override
+    public int drainTo(Consumer<? super E> action, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = 0;
+        E e;
+        while (count < max && (e = poll()) != null) {
+            action.accept(e);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int dequeueInto(E[] es) {
+        int count = 0;
+        E e;
+        while (count < es.length && (e = poll()) != null) {
+            es[count++] = e;
+        }
+        return count;
+    }
+
+    @Override
+    public E peek() {
+        while (true) {
+            long position = (long) LONGS.getVolatile(this.counters, DEQUEUE);
+            int index = (int) position & this.mask;
+            long sequence = (long) LONGS.getAcquire(this.sequences, index);
+            if (sequence - (position + 1) < 0) {
+                throw new NoSuchElementException();
+            }
+            @SuppressWarnings("unchecked")
+            E e = (E) this.es[index];
+            // the element counts only if no consumer has taken the position meanwhile
+            if (sequence == position + 1 && e != null
+                && (long) LONGS.getVolatile(this.counters, DEQUEUE) == position) {
+                return e;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        Iterator<E> iterator = iterator();
+        while (iterator.hasNext()) {
+            builder.append(iterator.next());
+            if (iterator.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    // iterates over the elements that were published when the iterator was created
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+
+    // sized by the snapshot itself, since size() read separately may disagree with it
+    @Override
+    public Spliterator<E> spliterator() {
+        return snapshot().spliterator();
+    }
+
+    private ArrayVector<E> snapshot() {
+        long position = (long) LONGS.getVolatile(this.counters, DEQUEUE);
+        long end = (long) LONGS.getVolatile(this.counters, ENQUEUE);
+        ArrayVector<E> snapshot = new ArrayVector<>((int) Math.max(0, Math.min(end - position, this.es.length)));
+        for (; position < end; position++) {
+            int index = (int) position & this.mask;
+            if ((long) LONGS.getAcquire(this.sequences, index) != position + 1) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            E e = (E) this.es[index];
+            if (e != null) {
+                snapshot.addLast(e);
+            }
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,418 @@
+package src.algo;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+
+// A vector of fixed-width records in direct memory, so the garbage collector neither scans nor moves
+// them. The records live in chunks of a power-of-two number of records: growing only adds a chunk
+// and never copies, and a record is found by splitting its index into a chunk and a position. The
+// chunks are released explicitly by close(); elements are decoded on every read, so get() returns
+// a new object unless the codec caches them.
+public class OffHeapVector<E> implements Vector<E>, AutoCloseable {
+    private static final int CHUNK_BYTES = 1 << 20;
+    private static final int SCRATCH_BYTES = 1 << 13;
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // without it the chunks are freed when the collector finds them unreachable
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final RecordCodec<E> codec;
+    private final int recordSize;
+    private final int chunkShift;
+
+    private ByteBuffer[] chunks;
+    private int chunkCount;
+    private int size;
+    private byte[] scratch;
+    private boolean closed;
+    private Metrics metrics;
+
+    public OffHeapVector(RecordCodec<E> codec) {
+        if (codec == null || codec.recordSize() <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        this.chunkShift = Math.max(31 - Integer.numberOfLeadingZeros(CHUNK_BYTES / this.recordSize), 0);
+        this.chunks = new ByteBuffer[16];
+        this.chunkCount = 0;
+        this.size = 0;
+        this.scratch = null;
+        this.closed = false;
+        this.metrics = null;
+    }
+
+    public static void main(String... args) {
+        // a point of two ints packed into eight bytes
+        RecordCodec<int[]> codec = new RecordCodec<>() {
+            @Override
+            public int recordSize() {
+                return 8;
+            }
+
+            @Override
+            public void encode(int[] e, ByteBuffer buffer, int offset) {
+                buffer.putInt(offset, e[0]);
+                buffer.putInt(offset + 4, e[1]);
+            }
+
+            @Override
+            public int[] decode(ByteBuffer buffer, int offset) {
+                return new int[] {buffer.getInt(offset), buffer.getInt(offset + 4)};
+            }
+        };
+        try (OffHeapVector<int[]> vector = new OffHeapVector<>(codec)) {
+            for (int i = 0; i < 1_000_000; i++) {
+                vector.addLast(new int[] {i, -i});
+            }
+            vector.add(3, new int[] {42, 42});
+            vector.remove(0);
+            for (int i = 0; i < 5; i++) {
+                int[] point = vector.get(i);
+                System.out.printf("%d: (%d, %d)%n", i, point[0], point[1]);
+            }
+            System.out.printf("%d records in %d chunks%n", vector.size(), vector.chunkCount);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metrics = Metrics.toggle(this.metrics, enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return Metrics.snapshot(this.metrics);
+    }
+
+    @Override
+    public void addLast(E e) {
+        ensureOpen();
+        increase(this.size + 1);
+        this.codec.encode(e, chunk(this.size), offset(this.size));
+        this.size++;
+    }
+
+    @Override
+    public void addFirst(E e) {
+        add(0, e);
+    }
+
+    @Override
+    public void add(int index, E e) {
+        ensureOpen();
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        increase(this.size + 1);
+        move(index, index + 1, this.size - index);
+        this.codec.encode(e, chunk(index), offset(index));
+        this.size++;
+    }
+
+    // copies the raw records of the other vector, which has to use a codec of the same record size
+    public void addAll(OffHeapVector<? extends E> other) {
+        ensureOpen();
+        other.ensureOpen();
+        if (other.recordSize != this.recordSize || other == this) {
+            throw new IllegalArgumentException();
+        }
+        int count = other.size;
+        if (count > Integer.MAX_VALUE - this.size) {
+            throw new RuntimeException("Vector is full.");
+        }
+        increase(this.size + count);
+        for (int i = 0; i < count; ) {
+            int length = Math.min(count - i, Math.min(other.remainingInChunk(i), remainingInChunk(this.size + i)));
+            copyBytes(other.chunk(i), other.offset(i), chunk(this.size + i), offset(this.size + i),
+                length * this.recordSize);
+            i += length;
+        }
+        this.size += count;
+    }
+
+    @Override
+    public E removeLast() {
+        return remove(this.size - 1);
+    }
+
+    @Override
+    public E removeFirst() {
+        return remove(0);
+    }
+
+    @Override
+    public E remove(int index) {
+        ensureOpen();
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        E ret = this.codec.decode(chunk(index), offset(index));
+        move(index + 1, index, this.size - index - 1);
+        this.size--;
+        decrease();
+        return ret;
+    }
+
+    @Override
+    public E get(int index) {
+        ensureOpen();
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return this.codec.decode(chunk(index), offset(index));
+    }
+
+    @Override
+    public void set(int index, E e) {
+        ensureOpen();
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        this.codec.encode(e, chunk(index), offset(index));
+    }
+
+    public void setAll(int index, E[] es, int offset, int length) {
+        ensureOpen();
+        if (index < 0 || length < 0 || index > this.size - length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        for (int i = 0; i < length; i++) {
+            this.codec.encode(es[offset + i], chunk(index + i), offset(index + i));
+        }
+    }
+
+    public void copyTo(int fromIndex, E[] destination, int offset, int length) {
+        ensureOpen();
+        if (fromIndex < 0 || length < 0 || fromIndex > this.size - length) {
+            throw new IndexOutOfBoundsException(fromIndex);
+        }
+        for (int i = 0; i < length; i++) {
+            destination[offset + i] = this.codec.decode(chunk(fromIndex + i), offset(fromIndex + i));
+        }
+    }
+
+    // releases the native memory at once; the vector cannot be used afterwards
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        for (int c = 0; c < this.chunkCount; c++) {
+            free(this.chunks[c]);
+            this.chunks[c] = null;
+        }
+        this.chunkCount = 0;
+        this.size = 0;
+        this.closed = true;
+    }
+
+    @Override
+    public String toString() {
+        ensureOpen();
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(get(i));
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        ensureOpen();
+        return new OffHeapVectorIterator<>(this);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        ensureOpen();
+        return new RandomAccessSpliterator<>(this, 0, this.size);
+    }
+
+    private ByteBuffer chunk(int index) {
+        return this.chunks[index >>> this.chunkShift];
+    }
+
+    private int offset(int index) {
+        return (index & ((1 << this.chunkShift) - 1)) * this.recordSize;
+    }
+
+    private int remainingInChunk(int index) {
+        return (1 << this.chunkShift) - (index & ((1 << this.chunkShift) - 1));
+    }
+
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Vector is closed.");
+        }
+    }
+
+    private void increase(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new RuntimeException("Vector is full.");
+        }
+        while ((long) this.chunkCount << this.chunkShift < minCapacity) {
+            if (this.chunkCount == this.chunks.length) {
+                ByteBuffer[] newChunks = new ByteBuffer[this.chunks.length * 2];
+                System.arraycopy(this.chunks, 0, newChunks, 0, this.chunkCount);
+                this.chunks = newChunks;
+            }
+            if (this.metrics != null) {
+                this.metrics.countResize();
+            }
+            this.chunks[this.chunkCount++] = ByteBuffer
+                .allocateDirect(this.recordSize << this.chunkShift)
+                .order(ByteOrder.nativeOrder());
+        }
+    }
+
+    // keeps one spare chunk, so a size oscillating around a chunk boundary does not allocate
+    private void decrease() {
+        int used = (this.size + (1 << this.chunkShift) - 1) >>> this.chunkShift;
+        while (this.chunkCount > used + 1) {
+            if (this.metrics != null) {
+                this.metrics.countResize();
+            }
+            free(this.chunks[--this.chunkCount]);
+            this.chunks[this.chunkCount] = null;
+        }
+    }
+
+    // moves count records from one index to another like memmove, in pieces that stay within a chunk
+    private void move(int from, int to, int count) {
+        if (count == 0 || from == to) {
+            return;
+        }
+        if (to > from) {
+            // backwards, so that no record is overwritten before it has been moved
+            int end = count;
+            while (end > 0) {
+                int length = Math.min(end, Math.min(chunkPosition(from + end - 1) + 1, chunkPosition(to + end - 1) + 1));
+                int start = end - length;
+                copyRecords(from + start, to + start, length);
+                end = start;
+            }
+        } else {
+            int start = 0;
+            while (start < count) {
+                int length = Math.min(count - start, Math.min(remainingInChunk(from + start), remainingInChunk(to + start)));
+                copyRecords(from + start, to + start, length);
+                start += length;
+            }
+        }
+    }
+
+    private int chunkPosition(int index) {
+        return index & ((1 << this.chunkShift) - 1);
+    }
+
+    private void copyRecords(int from, int to, int length) {
+        copyBytes(chunk(from), offset(from), chunk(to), offset(to), length * this.recordSize);
+    }
+
+    private void copyBytes(ByteBuffer source, int sourceOffset, ByteBuffer target, int targetOffset, int length) {
+        if (source != target) {
+            source.limit(sourceOffset + length).position(sourceOffset);
+            target.position(targetOffset);
+            target.put(source);
+            source.clear();
+            target.clear();
+            return;
+        }
+        // overlapping ranges of one chunk go through a heap buffer, in the direction that is safe
+        if (this.scratch == null) {
+            this.scratch = new byte[SCRATCH_BYTES];
+        }
+        byte[] scratch = this.scratch;
+        if (targetOffset > sourceOffset) {
+            for (int end = length; end > 0; ) {
+                int n = Math.min(end, scratch.length);
+                end -= n;
+                source.position(sourceOffset + end);
+                source.get(scratch, 0, n);
+                source.position(targetOffset + end);
+                source.put(scratch, 0, n);
+            }
+        } else {
+            for (int start = 0; start < length; ) {
+                int n = Math.min(length - start, scratch.length);
+                source.position(sourceOffset + start);
+                source.get(scratch, 0, n);
+                source.position(targetOffset + start);
+                source.put(scratch, 0, n);
+                start += n;
+            }
+        }
+        source.clear();
+    }
+
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null || buffer == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class OffHeapVectorIterator<E> implements Iterator<E> {
+        final OffHeapVector<E> vector;
+        int index;
+
+        OffHeapVectorIterator(OffHeapVector<E> vector) {
+            this.vector = vector;
+            this.index = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index != this.vector.size;
+        }
+
+        @Override
+        public E next() {
+            if (this.index == this.vector.size) {
+                throw new NoSuchElementException();
+            }
+            return this.vector.get(this.index++);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package src.algo;
+
+// What a bounded buffer does with a new element while it is full.
+public enum OverflowPolicy {
+    // drops the oldest element to make room, so the buffer keeps the latest ones
+    OVERWRITE_OLDEST,
+    // drops the new element, so the buffer keeps the earliest ones
+    REJECT_NEWEST,
+    // waits until a consumer makes room
+    BLOCK;
+}
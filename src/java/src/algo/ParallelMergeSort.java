@@ -0,0 +1,172 @@
+package src.algo;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// A stable merge sort on the common fork-join pool. Ranges up to the granularity are sorted by
+// TimSort; above it both halves are sorted in parallel into the other array of the pair, and merged
+// back by splitting the larger run at its middle and the smaller one at the matching position, so
+// the merges run in parallel too. The array and one buffer of the same length take turns as source.
+class ParallelMergeSort {
+    private static final int MIN_GRANULARITY = 1 << 13;
+
+    static <T> void sort(T[] a, int fromIndex, int toIndex, Comparator<? super T> comparator) {
+        int length = toIndex - fromIndex;
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (length <= MIN_GRANULARITY || parallelism == 1) {
+            TimSort.sort(a, fromIndex, toIndex, comparator);
+            return;
+        }
+        int granularity = Math.max(length / (parallelism << 2), MIN_GRANULARITY);
+        @SuppressWarnings("unchecked")
+        T[] buffer = (T[]) new Object[length];
+        new Sorter<>(a, buffer, fromIndex, 0, length, false, granularity, comparator).invoke();
+    }
+
+    // sorts a[base, base + length) into a, or into the buffer from offset if toBuffer is set
+    private static class Sorter<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final T[] a;
+        final T[] buffer;
+        final int base;
+        final int offset;
+        final int length;
+        final boolean toBuffer;
+        final int granularity;
+        final Comparator<? super T> comparator;
+
+        Sorter(T[] a, T[] buffer, int base, int offset, int length, boolean toBuffer, int granularity,
+               Comparator<? super T> comparator) {
+            this.a = a;
+            this.buffer = buffer;
+            this.base = base;
+            this.offset = offset;
+            this.length = length;
+            this.toBuffer = toBuffer;
+            this.granularity = granularity;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.length <= this.granularity) {
+                TimSort.sort(this.a, this.base, this.base + this.length, this.comparator);
+                if (this.toBuffer) {
+                    System.arraycopy(this.a, this.base, this.buffer, this.offset, this.length);
+                }
+                return;
+            }
+            int half = this.length >>> 1;
+            // the halves land in the array this merge reads from
+            Sorter<T> left = new Sorter<>(this.a, this.buffer, this.base, this.offset, half,
+                !this.toBuffer, this.granularity, this.comparator);
+            Sorter<T> right = new Sorter<>(this.a, this.buffer, this.base + half, this.offset + half,
+                this.length - half, !this.toBuffer, this.granularity, this.comparator);
+            invokeAll(left, right);
+            T[] source = this.toBuffer ? this.a : this.buffer;
+            T[] target = this.toBuffer ? this.buffer : this.a;
+            int sourceBase = this.toBuffer ? this.base : this.offset;
+            int targetBase = this.toBuffer ? this.offset : this.base;
+            new Merger<>(source, sourceBase, half, sourceBase + half, this.length - half, target, targetBase,
+                this.granularity, this.comparator).invoke();
+        }
+    }
+
+    // merges source[low1, low1 + length1) and source[low2, low2 + length2) into target from index
+    private static class Merger<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final T[] source;
+        final int low1;
+        final int length1;
+        final int low2;
+        final int length2;
+        final T[] target;
+        final int index;
+        final int granularity;
+        final Comparator<? super T> comparator;
+
+        Merger(T[] source, int low1, int length1, int low2, int length2, T[] target, int index, int granularity,
+               Comparator<? super T> comparator) {
+            this.source = source;
+            this.low1 = low1;
+            this.length1 = length1;
+            this.low2 = low2;
+            this.length2 = length2;
+            this.target = target;
+            this.index = index;
+            this.granularity = granularity;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.length1 + this.length2 <= this.granularity) {
+                merge();
+                return;
+            }
+            int split1;
+            int split2;
+            if (this.length1 >= this.length2) {
+                split1 = this.low1 + (this.length1 >>> 1);
+                // equal elements of the second run stay after the pivot from the first run
+                split2 = lowerBound(this.low2, this.low2 + this.length2, this.source[split1]);
+            } else {
+                split2 = this.low2 + (this.length2 >>> 1);
+                split1 = upperBound(this.low1, this.low1 + this.length1, this.source[split2]);
+            }
+            int leftLength1 = split1 - this.low1;
+            int leftLength2 = split2 - this.low2;
+            invokeAll(
+                new Merger<>(this.source, this.low1, leftLength1, this.low2, leftLength2, this.target, this.index,
+                    this.granularity, this.comparator),
+                new Merger<>(this.source, split1, this.length1 - leftLength1, split2, this.length2 - leftLength2,
+                    this.target, this.index + leftLength1 + leftLength2, this.granularity, this.comparator));
+        }
+
+        private void merge() {
+            T[] source = this.source;
+            T[] target = this.target;
+            int i = this.low1;
+            int end1 = this.low1 + this.length1;
+            int j = this.low2;
+            int end2 = this.low2 + this.length2;
+            int d = this.index;
+            while (i < end1 && j < end2) {
+                if (this.comparator.compare(source[j], source[i]) < 0) {
+                    target[d++] = source[j++];
+                } else {
+                    target[d++] = source[i++];
+                }
+            }
+            System.arraycopy(source, i, target, d, end1 - i);
+            System.arraycopy(source, j, target, d + end1 - i, end2 - j);
+        }
+
+        private int lowerBound(int low, int high, T key) {
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (this.comparator.compare(this.source[middle], key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int upperBound(int low, int high, T key) {
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (this.comparator.compare(key, this.source[middle]) < 0) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
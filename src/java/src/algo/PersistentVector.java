@@ -0,0 +1,419 @@
+package src.algo;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+
+// An immutable vector whose updates return a new version that shares all but O(log32 n) nodes with
+// the old one. The elements are kept in a 32-way trie of full leaves plus a tail of up to 32 elements
+// outside the trie, so appending copies only the tail until it is full and then pushes it down as a
+// leaf. Every field is final, so a version can be handed to other threads without copying or locking.
+// A Builder mutates the nodes it created in place, which makes batch construction about as cheap as
+// filling an array.
+public final class PersistentVector<E> implements ReadableVector<E> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    public static void main(String... args) {
+        PersistentVector<Integer> empty = empty();
+        PersistentVector<Integer> v1 = empty.addLast(1).addLast(2).addLast(3);
+        PersistentVector<Integer> v2 = v1.set(1, 20);
+        PersistentVector<Integer> v3 = v2.removeLast();
+        System.out.println("v1 = " + v1);
+        System.out.println("v2 = " + v2);
+        System.out.println("v3 = " + v3);
+        Builder<Integer> builder = v3.toBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.addLast(i);
+        }
+        PersistentVector<Integer> v4 = builder.build();
+        System.out.println("v4 has " + v4.size() + " elements, the 50th is " + v4.get(50));
+        System.out.println("v3 is still " + v3);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <E> PersistentVector<E> of(E... es) {
+        Builder<E> builder = new Builder<>(empty());
+        for (E e : es) {
+            builder.addLast(e);
+        }
+        return builder.build();
+    }
+
+    public static <E> PersistentVector<E> copyOf(Iterable<? extends E> es) {
+        Builder<E> builder = new Builder<>(empty());
+        for (E e : es) {
+            builder.addLast(e);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        @SuppressWarnings("unchecked")
+        E item = (E) leafFor(index)[index & MASK];
+        return item;
+    }
+
+    public PersistentVector<E> addLast(E e) {
+        if (this.size == Integer.MAX_VALUE) {
+            throw new RuntimeException("Vector is full.");
+        }
+        if (this.size - tailOffset(this.size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(this.tail, this.tail.length + 1);
+            newTail[this.tail.length] = e;
+            return new PersistentVector<>(this.size + 1, this.shift, this.root, newTail);
+        }
+        // the full tail becomes a leaf of the trie
+        Node tailNode = new Node(null, this.tail);
+        Node newRoot;
+        int newShift = this.shift;
+        if ((this.size >>> BITS) > (1 << this.shift)) {
+            // the trie is full, so it grows by one level
+            newRoot = new Node(null, new Object[WIDTH]);
+            newRoot.array[0] = this.root;
+            newRoot.array[1] = newPath(null, this.shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(this.size, this.shift, this.root, tailNode);
+        }
+        return new PersistentVector<>(this.size + 1, newShift, newRoot, new Object[] {e});
+    }
+
+    public PersistentVector<E> set(int index, E e) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (index >= tailOffset(this.size)) {
+            Object[] newTail = this.tail.clone();
+            newTail[index & MASK] = e;
+            return new PersistentVector<>(this.size, this.shift, this.root, newTail);
+        }
+        return new PersistentVector<>(this.size, this.shift, set(this.shift, this.root, index, e), this.tail);
+    }
+
+    public PersistentVector<E> removeLast() {
+        if (this.size == 0) {
+            throw new IndexOutOfBoundsException(-1);
+        }
+        if (this.size == 1) {
+            return empty();
+        }
+        if (this.size - tailOffset(this.size) > 1) {
+            Object[] newTail = Arrays.copyOf(this.tail, this.tail.length - 1);
+            return new PersistentVector<>(this.size - 1, this.shift, this.root, newTail);
+        }
+        // the last leaf of the trie becomes the tail
+        Object[] newTail = leafFor(this.size - 2);
+        Node newRoot = popTail(this.shift, this.root);
+        int newShift = this.shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (this.shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(this.size - 1, newShift, newRoot, newTail);
+    }
+
+    public Builder<E> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(get(i));
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new PersistentVectorIterator<>(this);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new RandomAccessSpliterator<>(this, 0, this.size);
+    }
+
+    // the index of the first element in the tail
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset(this.size)) {
+            return this.tail;
+        }
+        Node node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    private static Node set(int level, Node node, int index, Object e) {
+        Node copy = new Node(node.edit, node.array.clone());
+        if (level == 0) {
+            copy.array[index & MASK] = e;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy.array[child] = set(level - BITS, (Node) node.array[child], index, e);
+        }
+        return copy;
+    }
+
+    // copies the path to the rightmost leaf position of a trie holding size - WIDTH elements
+    private static Node pushTail(int size, int level, Node parent, Node tailNode) {
+        int child = ((size - 1) >>> level) & MASK;
+        Node copy = new Node(parent.edit, parent.array.clone());
+        Node inserted;
+        if (level == BITS) {
+            inserted = tailNode;
+        } else {
+            Node node = (Node) parent.array[child];
+            inserted = node != null
+                ? pushTail(size, level - BITS, node, tailNode)
+                : newPath(null, level - BITS, tailNode);
+        }
+        copy.array[child] = inserted;
+        return copy;
+    }
+
+    private static Node newPath(Object edit, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node path = new Node(edit, new Object[WIDTH]);
+        path.array[0] = newPath(edit, level - BITS, node);
+        return path;
+    }
+
+    // returns the node without its rightmost leaf, or null if nothing is left of it
+    private Node popTail(int level, Node node) {
+        int child = ((this.size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node newChild = popTail(level - BITS, (Node) node.array[child]);
+            if (newChild == null && child == 0) {
+                return null;
+            }
+            Node copy = new Node(node.edit, node.array.clone());
+            copy.array[child] = newChild;
+            return copy;
+        }
+        if (child == 0) {
+            return null;
+        }
+        Node copy = new Node(node.edit, node.array.clone());
+        copy.array[child] = null;
+        return copy;
+    }
+
+    // A node belongs to the builder whose edit token it carries; only that builder may change it in
+    // place, every other update copies it first.
+    private static class Node {
+        final Object edit;
+        final Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    // Collects updates in place and turns them into a persistent vector in O(1). The versions built
+    // from it are not affected by later changes, because build() retires the builder.
+    public static final class Builder<E> {
+        private Object edit;
+        private int size;
+        private int shift;
+        private Node root;
+        private Object[] tail;
+
+        private Builder(PersistentVector<E> vector) {
+            this.edit = new Object();
+            this.size = vector.size;
+            this.shift = vector.shift;
+            this.root = new Node(this.edit, vector.root.array.clone());
+            this.tail = Arrays.copyOf(vector.tail, WIDTH);
+        }
+
+        public int size() {
+            return this.size;
+        }
+
+        public E get(int index) {
+            ensureActive();
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            @SuppressWarnings("unchecked")
+            E item = (E) leafFor(index)[index & MASK];
+            return item;
+        }
+
+        public Builder<E> addLast(E e) {
+            ensureActive();
+            if (this.size == Integer.MAX_VALUE) {
+                throw new RuntimeException("Vector is full.");
+            }
+            if (this.size - tailOffset(this.size) < WIDTH) {
+                this.tail[this.size & MASK] = e;
+                this.size++;
+                return this;
+            }
+            Node tailNode = new Node(this.edit, this.tail);
+            this.tail = new Object[WIDTH];
+            this.tail[0] = e;
+            if ((this.size >>> BITS) > (1 << this.shift)) {
+                Node newRoot = new Node(this.edit, new Object[WIDTH]);
+                newRoot.array[0] = this.root;
+                newRoot.array[1] = newPath(this.edit, this.shift, tailNode);
+                this.root = newRoot;
+                this.shift += BITS;
+            } else {
+                this.root = pushTail(this.shift, this.root, tailNode);
+            }
+            this.size++;
+            return this;
+        }
+
+        public Builder<E> set(int index, E e) {
+            ensureActive();
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            if (index >= tailOffset(this.size)) {
+                this.tail[index & MASK] = e;
+                return this;
+            }
+            Node node = this.root = editable(this.root);
+            for (int level = this.shift; level > 0; level -= BITS) {
+                int child = (index >>> level) & MASK;
+                Node next = editable((Node) node.array[child]);
+                node.array[child] = next;
+                node = next;
+            }
+            node.array[index & MASK] = e;
+            return this;
+        }
+
+        public PersistentVector<E> build() {
+            ensureActive();
+            this.edit = null;
+            Object[] trimmed = Arrays.copyOf(this.tail, this.size - tailOffset(this.size));
+            return new PersistentVector<>(this.size, this.shift, this.root, trimmed);
+        }
+
+        private void ensureActive() {
+            if (this.edit == null) {
+                throw new IllegalStateException("Builder is already built.");
+            }
+        }
+
+        private Node editable(Node node) {
+            return node.edit == this.edit ? node : new Node(this.edit, node.array.clone());
+        }
+
+        private Object[] leafFor(int index) {
+            if (index >= tailOffset(this.size)) {
+                return this.tail;
+            }
+            Node node = this.root;
+            for (int level = this.shift; level > 0; level -= BITS) {
+                node = (Node) node.array[(index >>> level) & MASK];
+            }
+            return node.array;
+        }
+
+        private Node pushTail(int level, Node parent, Node tailNode) {
+            Node node = editable(parent);
+            int child = ((this.size - 1) >>> level) & MASK;
+            Node inserted;
+            if (level == BITS) {
+                inserted = tailNode;
+            } else {
+                Node next = (Node) node.array[child];
+                inserted = next != null
+                    ? pushTail(level - BITS, next, tailNode)
+                    : newPath(this.edit, level - BITS, tailNode);
+            }
+            node.array[child] = inserted;
+            return node;
+        }
+    }
+
+    // walks leaf by leaf, so it finds every leaf once instead of once per element
+    private static class PersistentVectorIterator<E> implements Iterator<E> {
+        final PersistentVector<E> vector;
+        int index;
+        Object[] leaf;
+
+        PersistentVectorIterator(PersistentVector<E> vector) {
+            this.vector = vector;
+            this.index = 0;
+            this.leaf = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index != this.vector.size;
+        }
+
+        @Override
+        public E next() {
+            if (this.index == this.vector.size) {
+                throw new NoSuchElementException();
+            }
+            if ((this.index & MASK) == 0) {
+                this.leaf = this.vector.leafFor(this.index);
+            }
+            @SuppressWarnings("unchecked")
+            E item = (E) this.leaf[this.index++ & MASK];
+            return item;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
 
 public class PriorityQueue<E> implements Queue<E> {
     private static final int DEFAULT_CAPACITY = 16;
@@ -71,6 +72,12 @@ public class PriorityQueue<E> implements Queue<E> {
         return this.vector.iterator();
     }
 
+    // in heap order, like the iterator, which is no order a stream should keep
+    @Override
+    public Spliterator<E> spliterator() {
+        return new RandomAccessSpliterator<>(this.vector, 0, this.vector.size(), 0);
+    }
+
     private void siftUp(int size) {
         int current = size;
         while (current != 0) {
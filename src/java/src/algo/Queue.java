@@ -1,9 +1,43 @@
 package src.algo;
 
-public interface Queue<E> extends DataStructure, Iterable<E> {
+import java.util.function.Consumer;
+
+public interface Queue<E> extends IterableDataStructure<E> {
     public abstract void enqueue(E e);
 
     public abstract E dequeue();
 
     public abstract E peek();
+
+    // enqueues es[offset, offset + length) in order; array-backed queues copy the block at once
+    public default void enqueueAll(E[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        for (int i = 0; i < length; i++) {
+            enqueue(es[offset + i]);
+        }
+    }
+
+    // dequeues up to max elements, passing each to the action, and returns how many that was
+    public default int drainTo(Consumer<? super E> action, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = 0;
+        while (count < max && !isEmpty()) {
+            action.accept(dequeue());
+            count++;
+        }
+        return count;
+    }
+
+    // dequeues into es from index 0 until it is full or the queue is empty and returns how many
+    public default int dequeueInto(E[] es) {
+        int count = Math.min(es.length, size());
+        for (int i = 0; i < count; i++) {
+            es[i] = dequeue();
+        }
+        return count;
+    }
 }
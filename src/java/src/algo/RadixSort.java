@@ -0,0 +1,225 @@
+package src.algo;
+
+// Radix sorts on the bytes of int and long keys. The sign bit is flipped while reading a byte so that
+// negative keys come first. The LSD variant makes one stable counting pass per byte through a buffer
+// as long as the range and skips bytes that are the same in every key; the MSD variant permutes
+// each byte's buckets in place (American flag sort) and recurses into them.
+class RadixSort {
+    private static final int RADIX = 256;
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+
+    static void lsdSort(int[] a, int fromIndex, int toIndex) {
+        int length = toIndex - fromIndex;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, fromIndex, toIndex);
+            return;
+        }
+        int[][] counts = new int[4][RADIX];
+        for (int i = fromIndex; i < toIndex; i++) {
+            int key = a[i] ^ Integer.MIN_VALUE;
+            counts[0][key & 0xff]++;
+            counts[1][(key >>> 8) & 0xff]++;
+            counts[2][(key >>> 16) & 0xff]++;
+            counts[3][key >>> 24]++;
+        }
+        int[] source = a;
+        int sourceOffset = fromIndex;
+        int[] target = new int[length];
+        int targetOffset = 0;
+        for (int pass = 0; pass < 4; pass++) {
+            int[] count = counts[pass];
+            if (isSingleBucket(count, length)) {
+                continue;
+            }
+            int shift = pass << 3;
+            toOffsets(count, targetOffset);
+            for (int i = sourceOffset, end = sourceOffset + length; i < end; i++) {
+                int e = source[i];
+                target[count[((e ^ Integer.MIN_VALUE) >>> shift) & 0xff]++] = e;
+            }
+            int[] t = source;
+            source = target;
+            target = t;
+            int o = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = o;
+        }
+        if (source != a) {
+            System.arraycopy(source, sourceOffset, a, fromIndex, length);
+        }
+    }
+
+    static void lsdSort(long[] a, int fromIndex, int toIndex) {
+        int length = toIndex - fromIndex;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, fromIndex, toIndex);
+            return;
+        }
+        int[][] counts = new int[8][RADIX];
+        for (int i = fromIndex; i < toIndex; i++) {
+            long key = a[i] ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < 8; pass++) {
+                counts[pass][(int) (key >>> (pass << 3)) & 0xff]++;
+            }
+        }
+        long[] source = a;
+        int sourceOffset = fromIndex;
+        long[] target = new long[length];
+        int targetOffset = 0;
+        for (int pass = 0; pass < 8; pass++) {
+            int[] count = counts[pass];
+            if (isSingleBucket(count, length)) {
+                continue;
+            }
+            int shift = pass << 3;
+            toOffsets(count, targetOffset);
+            for (int i = sourceOffset, end = sourceOffset + length; i < end; i++) {
+                long e = source[i];
+                target[count[(int) ((e ^ Long.MIN_VALUE) >>> shift) & 0xff]++] = e;
+            }
+            long[] t = source;
+            source = target;
+            target = t;
+            int o = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = o;
+        }
+        if (source != a) {
+            System.arraycopy(source, sourceOffset, a, fromIndex, length);
+        }
+    }
+
+    static void msdSort(int[] a, int fromIndex, int toIndex) {
+        msdSort(a, fromIndex, toIndex, 24, new int[RADIX], new int[RADIX]);
+    }
+
+    static void msdSort(long[] a, int fromIndex, int toIndex) {
+        msdSort(a, fromIndex, toIndex, 56, new int[RADIX], new int[RADIX]);
+    }
+
+    // heads and tails are shared by every call, since a call is done with them before it recurses
+    private static void msdSort(int[] a, int low, int high, int shift, int[] heads, int[] tails) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, low, high);
+            return;
+        }
+        int[] count = new int[RADIX];
+        for (int i = low; i < high; i++) {
+            count[((a[i] ^ Integer.MIN_VALUE) >>> shift) & 0xff]++;
+        }
+        heads[0] = low;
+        tails[0] = low + count[0];
+        for (int b = 1; b < RADIX; b++) {
+            heads[b] = tails[b - 1];
+            tails[b] = heads[b] + count[b];
+        }
+        // swaps every element straight into the next free slot of its bucket
+        for (int b = 0; b < RADIX; b++) {
+            while (heads[b] < tails[b]) {
+                int e = a[heads[b]];
+                int target = ((e ^ Integer.MIN_VALUE) >>> shift) & 0xff;
+                while (target != b) {
+                    int t = a[heads[target]];
+                    a[heads[target]++] = e;
+                    e = t;
+                    target = ((e ^ Integer.MIN_VALUE) >>> shift) & 0xff;
+                }
+                a[heads[b]++] = e;
+            }
+        }
+        if (shift == 0) {
+            return;
+        }
+        int start = low;
+        for (int b = 0; b < RADIX; b++) {
+            int end = start + count[b];
+            if (end - start > 1) {
+                msdSort(a, start, end, shift - 8, heads, tails);
+            }
+            start = end;
+        }
+    }
+
+    private static void msdSort(long[] a, int low, int high, int shift, int[] heads, int[] tails) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, low, high);
+            return;
+        }
+        int[] count = new int[RADIX];
+        for (int i = low; i < high; i++) {
+            count[(int) ((a[i] ^ Long.MIN_VALUE) >>> shift) & 0xff]++;
+        }
+        heads[0] = low;
+        tails[0] = low + count[0];
+        for (int b = 1; b < RADIX; b++) {
+            heads[b] = tails[b - 1];
+            tails[b] = heads[b] + count[b];
+        }
+        for (int b = 0; b < RADIX; b++) {
+            while (heads[b] < tails[b]) {
+                long e = a[heads[b]];
+                int target = (int) ((e ^ Long.MIN_VALUE) >>> shift) & 0xff;
+                while (target != b) {
+                    long t = a[heads[target]];
+                    a[heads[target]++] = e;
+                    e = t;
+                    target = (int) ((e ^ Long.MIN_VALUE) >>> shift) & 0xff;
+                }
+                a[heads[b]++] = e;
+            }
+        }
+        if (shift == 0) {
+            return;
+        }
+        int start = low;
+        for (int b = 0; b < RADIX; b++) {
+            int end = start + count[b];
+            if (end - start > 1) {
+                msdSort(a, start, end, shift - 8, heads, tails);
+            }
+            start = end;
+        }
+    }
+
+    private static boolean isSingleBucket(int[] count, int length) {
+        for (int c : count) {
+            if (c != 0) {
+                return c == length;
+            }
+        }
+        return true;
+    }
+
+    // turns the counts into the first index of every bucket
+    private static void toOffsets(int[] count, int offset) {
+        for (int b = 0; b < RADIX; b++) {
+            int c = count[b];
+            count[b] = offset;
+            offset += c;
+        }
+    }
+
+    private static void insertionSort(int[] a, int low, int high) {
+        for (int i = low + 1; i < high; i++) {
+            int e = a[i];
+            int j = i - 1;
+            while (j >= low && a[j] > e) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = e;
+        }
+    }
+
+    private static void insertionSort(long[] a, int low, int high) {
+        for (int i = low + 1; i < high; i++) {
+            long e = a[i];
+            int j = i - 1;
+            while (j >= low && a[j] > e) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = e;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package src.algo;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// A spliterator for vectors with O(1) get(index); the index range is split in halves so that every
+// part knows its exact size.
+class RandomAccessSpliterator<E> implements Spliterator<E> {
+    private final ReadableVector<E> vector;
+    private int index;
+    private final int fence;
+    private final int characteristics;
+
+    RandomAccessSpliterator(ReadableVector<E> vector, int index, int fence) {
+        this(vector, index, fence, Spliterator.ORDERED);
+    }
+
+    // characteristics beyond SIZED and SUBSIZED, which always hold
+    RandomAccessSpliterator(ReadableVector<E> vector, int index, int fence, int characteristics) {
+        this.vector = vector;
+        this.index = index;
+        this.fence = fence;
+        this.characteristics = characteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (this.index >= this.fence) {
+            return false;
+        }
+        action.accept(this.vector.get(this.index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        ReadableVector<E> vector = this.vector;
+        int fence = this.fence;
+        for (int i = this.index; i < fence; i++) {
+            action.accept(vector.get(i));
+        }
+        this.index = fence;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        int low = this.index;
+        int middle = (low + this.fence) >>> 1;
+        if (low >= middle) {
+            return null;
+        }
+        this.index = middle;
+        return new RandomAccessSpliterator<>(this.vector, low, middle, this.characteristics);
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.fence - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+        return this.characteristics;
+    }
+}
@@ -0,0 +1,6 @@
+package src.algo;
+
+// The read side of a vector, shared by the mutable vectors and the persistent one.
+public interface ReadableVector<E> extends IterableDataStructure<E> {
+    public abstract E get(int index);
+}
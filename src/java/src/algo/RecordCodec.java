@@ -0,0 +1,13 @@
+package src.algo;
+
+import java.nio.ByteBuffer;
+
+// Converts an element to and from a fixed number of bytes. The codec reads and writes with the
+// absolute get/put methods at the given offset and never touches the position or limit of the buffer.
+public interface RecordCodec<E> {
+    public abstract int recordSize();
+
+    public abstract void encode(E e, ByteBuffer buffer, int offset);
+
+    public abstract E decode(ByteBuffer buffer, int offset);
+}
@@ -14,6 +14,7 @@ public class RedBlackTreeSet<E> implements Set<E> {
 
     private Node<E> root;
     private int size;
+    private Metrics metrics;
 
     @SuppressWarnings("unchecked")
     public RedBlackTreeSet() {
@@ -24,6 +25,7 @@ public class RedBlackTreeSet<E> implements Set<E> {
         this.comparator = comparator;
         this.root = null;
         this.size = 0;
+        this.metrics = null;
     }
 
     public static void main(String[] args) {
@@ -124,6 +126,16 @@ public class RedBlackTreeSet<E> implements Set<E> {
         return this.size;
     }
 
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metrics = Metrics.toggle(this.metrics, enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return Metrics.snapshot(this.metrics);
+    }
+
     @Override
     public void add(E e) {
         Node<E> node = add(this.root, e);
@@ -206,6 +218,9 @@ public class RedBlackTreeSet<E> implements Set<E> {
     }
 
     private int compare(E x, E y) {
+        if (this.metrics != null) {
+            this.metrics.countComparison();
+        }
         return this.comparator.compare(x, y);
     }
 
@@ -411,6 +426,9 @@ public class RedBlackTreeSet<E> implements Set<E> {
     }
 
     private void rotateLeft(Node<E> node) {
+        if (this.metrics != null) {
+            this.metrics.countRotation();
+        }
         Node<E> parent = parentOf(node);
         Node<E> child = rightOf(node);
         Node<E> grandchild = leftOf(child);
@@ -431,6 +449,9 @@ public class RedBlackTreeSet<E> implements Set<E> {
     }
 
     private void rotateRight(Node<E> node) {
+        if (this.metrics != null) {
+            this.metrics.countRotation();
+        }
         Node<E> parent = parentOf(node);
         Node<E> child = leftOf(node);
         Node<E> grandchild = rightOf(child);
@@ -0,0 +1,437 @@
+package src.algo;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// A queue of a fixed capacity that allocates its array once and never resizes, so its memory stays
+// the same under any burst. What happens to an element that does not fit is the OverflowPolicy's
+// choice. Every element gets a sequence number, and snapshot() returns a view of the current window
+// that reads the buffer's own array and checks by sequence that an element is still there. The
+// iterator reads the array too, but skips what has been overwritten instead of failing.
+public class RingBuffer<E> implements Queue<E> {
+    private final OverflowPolicy policy;
+    private final Object[] es;
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+
+    private long head; // sequence of the oldest element
+    private long tail; // sequence of the next element
+    private long overwritten;
+    private long rejected;
+
+    public RingBuffer(int capacity, OverflowPolicy policy) {
+        if (capacity < 1 || policy == null) {
+            throw new IllegalArgumentException();
+        }
+        this.policy = policy;
+        this.es = new Object[capacity];
+        this.lock = new ReentrantLock();
+        this.notEmpty = this.lock.newCondition();
+        this.notFull = this.lock.newCondition();
+        this.head = 0;
+        this.tail = 0;
+        this.overwritten = 0;
+        this.rejected = 0;
+    }
+
+    public static void main(String... args) {
+        RingBuffer<String> events = new RingBuffer<>(4, OverflowPolicy.OVERWRITE_OLDEST);
+        for (int i = 0; i < 10; i++) {
+            events.enqueue("event " + i);
+        }
+        ReadableVector<String> window = events.snapshot();
+        System.out.println(window.size() + " latest events, " + events.overwritten() + " overwritten:");
+        for (String event : window) {
+            System.out.println("  " + event);
+        }
+        events.enqueue("event 10");
+        try {
+            window.get(0);
+        } catch (ConcurrentModificationException e) {
+            System.out.println("the window's oldest event has been overwritten since");
+        }
+        RingBuffer<String> first = new RingBuffer<>(4, OverflowPolicy.REJECT_NEWEST);
+        for (int i = 0; i < 10; i++) {
+            first.offer("event " + i);
+        }
+        System.out.println(first + ", " + first.rejected() + " rejected");
+    }
+
+    public int capacity() {
+        return this.es.length;
+    }
+
+    public OverflowPolicy policy() {
+        return this.policy;
+    }
+
+    // how many elements OVERWRITE_OLDEST has dropped
+    public long overwritten() {
+        this.lock.lock();
+        try {
+            return this.overwritten;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // how many elements REJECT_NEWEST has dropped
+    public long rejected() {
+        this.lock.lock();
+        try {
+            return this.rejected;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        this.lock.lock();
+        try {
+            return (int) (this.tail - this.head);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // applies the policy when full: BLOCK waits for room and keeps waiting through interrupts, and
+    // REJECT_NEWEST throws like the other bounded queues once it has counted the rejection
+    @Override
+    public void enqueue(E e) {
+        checkElement(e);
+        this.lock.lock();
+        try {
+            if (this.policy == OverflowPolicy.BLOCK) {
+                while (isFull()) {
+                    this.notFull.awaitUninterruptibly();
+                }
+            }
+            if (!add(e)) {
+                throw new RuntimeException("Queue is full.");
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // like enqueue(), but BLOCK can be interrupted while it waits
+    public void put(E e) throws InterruptedException {
+        checkElement(e);
+        this.lock.lockInterruptibly();
+        try {
+            if (this.policy == OverflowPolicy.BLOCK) {
+                while (isFull()) {
+                    this.notFull.await();
+                }
+            }
+            if (!add(e)) {
+                throw new RuntimeException("Queue is full.");
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // never waits: returns false if the element was not added, which BLOCK treats like REJECT_NEWEST
+    public boolean offer(E e) {
+        checkElement(e);
+        this.lock.lock();
+        try {
+            if (this.policy == OverflowPolicy.BLOCK && isFull()) {
+                return false;
+            }
+            return add(e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E dequeue() {
+        E e = poll();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    // returns null instead of throwing when the buffer is empty
+    public E poll() {
+        this.lock.lock();
+        try {
+            return this.head == this.tail ? null : remove();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public E take() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            while (this.head == this.tail) {
+                this.notEmpty.await();
+            }
+            return remove();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E peek() {
+        this.lock.lock();
+        try {
+            if (this.head == this.tail) {
+                throw new NoSuchElementException();
+            }
+            return element(this.head);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // the action runs while the lock is held, so it should be short
+    @Override
+    public int drainTo(Consumer<? super E> action, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.lock.lock();
+        try {
+            int count = (int) Math.min(max, this.tail - this.head);
+            for (int i = 0; i < count; i++) {
+                action.accept(remove());
+            }
+            return count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int dequeueInto(E[] es) {
+        this.lock.lock();
+        try {
+            int count = (int) Math.min(es.length, this.tail - this.head);
+            for (int i = 0; i < count; i++) {
+                es[i] = remove();
+            }
+            return count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // a view of the elements in the buffer right now, without copying them. Reading an element that
+    // has since been dequeued or overwritten throws ConcurrentModificationException.
+    public ReadableVector<E> snapshot() {
+        this.lock.lock();
+        try {
+            return new RingBufferWindow<>(this, this.head, (int) (this.tail - this.head));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        this.lock.lock();
+        try {
+            StringBuilder builder = new StringBuilder();
+            builder.append("[");
+            for (long sequence = this.head; sequence < this.tail; sequence++) {
+                if (sequence != this.head) {
+                    builder.append(", ");
+                }
+                builder.append(element(sequence));
+            }
+            builder.append("]");
+            return builder.toString();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // weakly consistent and copies nothing: it walks the sequences that were in the buffer when it was
+    // created and skips those that have been overwritten or dequeued since, so it never fails
+    @Override
+    public Iterator<E> iterator() {
+        return new RingBufferIterator<>(this);
+    }
+
+    // not sized, because the iterator may skip elements
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize(
+            iterator(), Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    private static void checkElement(Object e) {
+        if (e == null) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    // the callers hold the lock
+    private boolean isFull() {
+        return this.tail - this.head == this.es.length;
+    }
+
+    private boolean add(E e) {
+        if (isFull()) {
+            if (this.policy == OverflowPolicy.REJECT_NEWEST) {
+                this.rejected++;
+                return false;
+            }
+            // OVERWRITE_OLDEST; BLOCK has waited for room before getting here
+            this.head++;
+            this.overwritten++;
+        }
+        this.es[(int) (this.tail % this.es.length)] = e;
+        this.tail++;
+        this.notEmpty.signal();
+        return true;
+    }
+
+    private E remove() {
+        int index = (int) (this.head % this.es.length);
+        @SuppressWarnings("unchecked")
+        E e = (E) this.es[index];
+        this.es[index] = null; // faster GC
+        this.head++;
+        this.notFull.signal();
+        return e;
+    }
+
+    private E element(long sequence) {
+        @SuppressWarnings("unchecked")
+        E e = (E) this.es[(int) (sequence % this.es.length)];
+        return e;
+    }
+
+    private static class RingBufferWindow<E> implements ReadableVector<E> {
+        final RingBuffer<E> buffer;
+        final long from;
+        final int size;
+
+        RingBufferWindow(RingBuffer<E> buffer, long from, int size) {
+            this.buffer = buffer;
+            this.from = from;
+            this.size = size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        @Override
+        public E get(int index) {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            long sequence = this.from + index;
+            this.buffer.lock.lock();
+            try {
+                if (sequence < this.buffer.head) {
+                    throw new ConcurrentModificationException();
+                }
+                return this.buffer.element(sequence);
+            } finally {
+                this.buffer.lock.unlock();
+            }
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new RingBufferWindowIterator<>(this);
+        }
+    }
+
+    private static class RingBufferIterator<E> implements Iterator<E> {
+        final RingBuffer<E> buffer;
+        final long end;
+        long sequence;
+        E next;
+
+        RingBufferIterator(RingBuffer<E> buffer) {
+            this.buffer = buffer;
+            buffer.lock.lock();
+            try {
+                this.sequence = buffer.head;
+                this.end = buffer.tail;
+            } finally {
+                buffer.lock.unlock();
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public E next() {
+            E next = this.next;
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return next;
+        }
+
+        // the lock is only held to read one element, so iterating never stalls the producers for long
+        private void advance() {
+            RingBuffer<E> buffer = this.buffer;
+            buffer.lock.lock();
+            try {
+                this.sequence = Math.max(this.sequence, buffer.head);
+                this.next = this.sequence < this.end ? buffer.element(this.sequence++) : null;
+            } finally {
+                buffer.lock.unlock();
+            }
+        }
+    }
+
+    private static class RingBufferWindowIterator<E> implements Iterator<E> {
+        final RingBufferWindow<E> window;
+        int index;
+
+        RingBufferWindowIterator(RingBufferWindow<E> window) {
+            this.window = window;
+            this.index = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index != this.window.size;
+        }
+
+        @Override
+        public E next() {
+            if (this.index == this.window.size) {
+                throw new NoSuchElementException();
+            }
+            return this.window.get(this.index++);
+        }
+    }
+}
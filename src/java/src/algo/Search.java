@@ -38,11 +38,13 @@ public class Search {
 
     public static Integer[] createSortedRandomIntegerArray(int count, int startInclusive, int endExclusive, long seed) {
         Random random = new Random(seed);
-        return random
-            .ints(count, startInclusive, endExclusive)
-            .sorted()
-            .boxed()
-            .toArray(Integer[]::new);
+        int[] ints = random.ints(count, startInclusive, endExclusive).toArray();
+        Sort.sort(ints);
+        Integer[] integers = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            integers[i] = ints[i];
+        }
+        return integers;
     }
 
     public static <T extends Comparable<T>> SearchReport linearSearch(T[] array, T item) {
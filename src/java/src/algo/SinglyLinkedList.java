@@ -1,16 +1,46 @@
 package src.algo;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
-@SuppressWarnings("unused")
 public class SinglyLinkedList<E> implements List<E> {
     private int size;
     private Node<E> head;
+    private Node<E> tail;
 
     public SinglyLinkedList() {
         this.size = 0;
         this.head = null;
+        this.tail = null;
+    }
+
+    public static void main(String... args) {
+        SinglyLinkedList<Integer> list = new SinglyLinkedList<>();
+        Random random = new Random(0L);
+        for (int i = 0; i < 30; i++) {
+            int index = random.nextInt(list.size() + 1);
+            list.add(index, i);
+            System.out.printf("added %2d into index %2d: ", i, index);
+            System.out.println(list);
+        }
+        SinglyLinkedList<Integer> other = new SinglyLinkedList<>();
+        for (int i = 0; i < 10; i++) {
+            other.addLast(random.nextInt(30));
+        }
+        list.append(other);
+        System.out.println("appended: " + list);
+        list.sort(Comparator.naturalOrder());
+        System.out.println("sorted: " + list);
+        while (!list.isEmpty()) {
+            int index = random.nextInt(list.size());
+            int item = list.remove(index);
+            System.out.printf("removed %2d from the index %2d: ", item, index);
+            System.out.println(list);
+        }
     }
 
     @Override
@@ -25,18 +55,22 @@ public class SinglyLinkedList<E> implements List<E> {
 
     @Override
     public void addLast(E e) {
-        if (this.size == 0) {
-            addFirst(e);
-            return;
+        Node<E> newNode = new Node<>(e, null);
+        if (this.tail == null) {
+            this.head = newNode;
+        } else {
+            this.tail.next = newNode;
         }
-        Node<E> node = node(this.size - 1); // last node
-        node.next = new Node<>(e, null);
+        this.tail = newNode;
         this.size++;
     }
 
     @Override
     public void addFirst(E e) {
         this.head = new Node<>(e, this.head);
+        if (this.tail == null) {
+            this.tail = this.head;
+        }
         this.size++;
     }
 
@@ -54,24 +88,46 @@ public class SinglyLinkedList<E> implements List<E> {
             return;
         }
         Node<E> node = node(index - 1);
-        Node<E> next = node.next;
-        node.next = new Node<>(e, next);
+        node.next = new Node<>(e, node.next);
         this.size++;
     }
 
     @Override
     public E removeLast() {
-        return null;
+        return remove(this.size - 1);
     }
 
     @Override
     public E removeFirst() {
-        return null;
+        return remove(0);
     }
 
     @Override
     public E remove(int index) {
-        return null;
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Node<E> obsolete;
+        if (index == 0) {
+            obsolete = this.head;
+            this.head = obsolete.next;
+            if (this.head == null) {
+                this.tail = null;
+            }
+        } else {
+            // the predecessor has to be found by walking, even for the last node
+            Node<E> previous = node(index - 1);
+            obsolete = previous.next;
+            previous.next = obsolete.next;
+            if (obsolete == this.tail) {
+                this.tail = previous;
+            }
+        }
+        E item = obsolete.item;
+        obsolete.item = null; // faster GC
+        obsolete.next = null;
+        this.size--;
+        return item;
     }
 
     @Override
@@ -84,33 +140,123 @@ public class SinglyLinkedList<E> implements List<E> {
         node(index).item = e;
     }
 
+    // moves every node of the other list to the end of this one in O(1), leaving the other list empty
+    public void append(SinglyLinkedList<E> other) {
+        if (other == this) {
+            throw new IllegalArgumentException();
+        }
+        if (other.head == null) {
+            return;
+        }
+        if (this.tail == null) {
+            this.head = other.head;
+        } else {
+            this.tail.next = other.head;
+        }
+        this.tail = other.tail;
+        this.size += other.size;
+        other.head = null;
+        other.tail = null;
+        other.size = 0;
+    }
+
+    // a stable bottom-up merge sort that relinks the nodes in place: every pass merges neighbouring
+    // runs of width nodes into runs twice as long, so it needs neither recursion nor allocation, and
+    // the last pass ends on the new tail
+    public void sort(Comparator<? super E> comparator) {
+        if (this.size < 2) {
+            return;
+        }
+        Node<E> head = this.head;
+        Node<E> tail = null;
+        for (int width = 1; width < this.size; width <<= 1) {
+            Node<E> rest = head;
+            head = null;
+            tail = null;
+            while (rest != null) {
+                Node<E> left = rest;
+                Node<E> right = cut(left, width);
+                rest = cut(right, width);
+                while (left != null && right != null) {
+                    Node<E> next;
+                    // takes from the left run on ties, which keeps the sort stable
+                    if (comparator.compare(right.item, left.item) < 0) {
+                        next = right;
+                        right = right.next;
+                    } else {
+                        next = left;
+                        left = left.next;
+                    }
+                    if (tail == null) {
+                        head = next;
+                    } else {
+                        tail.next = next;
+                    }
+                    tail = next;
+                }
+                Node<E> remainder = left != null ? left : right;
+                if (tail == null) {
+                    head = remainder;
+                    tail = remainder;
+                } else {
+                    tail.next = remainder;
+                }
+                while (tail.next != null) {
+                    tail = tail.next;
+                }
+            }
+        }
+        this.head = head;
+        this.tail = tail;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        for (Node<E> n = this.head; n != null; n = n.next) {
+            builder.append(n.item);
+            if (n.next != null) {
+                builder.append(", ");
+            }
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
     @Override
     public Iterator<E> iterator() {
         return new LinkedListIterator<>(this.head);
     }
 
-    private Node<E> linkAfter(Node<E> node, Node<E> newNode) {
+    @Override
+    public Spliterator<E> spliterator() {
+        return new LinkedListSpliterator<>(this.head, this.size);
+    }
+
+    // cuts the list after count nodes and returns the node that followed, or null
+    private static <E> Node<E> cut(Node<E> node, int count) {
+        for (int i = 1; node != null && i < count; i++) {
+            node = node.next;
+        }
         if (node == null) {
-            return newNode;
+            return null;
         }
         Node<E> next = node.next;
-        node.next = newNode;
-        newNode.next = next;
-        return node;
+        node.next = null;
+        return next;
     }
 
     private Node<E> node(int index) {
         if (index < 0 || index >= this.size) {
             throw new IndexOutOfBoundsException(index);
         }
+        if (index == this.size - 1) {
+            return this.tail;
+        }
         Node<E> node = this.head;
-        int i = 0;
-        while (node != null) {
-            if (i == index) {
-                break;
-            }
+        for (int i = 0; i < index; i++) {
             node = node.next;
-            i++;
         }
         return node;
     }
@@ -148,4 +294,64 @@ public class SinglyLinkedList<E> implements List<E> {
             return item;
         }
     }
+
+    private static class LinkedListSpliterator<E> implements Spliterator<E> {
+        Node<E> node;
+        int remaining;
+
+        LinkedListSpliterator(Node<E> node, int remaining) {
+            this.node = node;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (this.remaining == 0) {
+                return false;
+            }
+            E item = this.node.item;
+            this.node = this.node.next;
+            this.remaining--;
+            action.accept(item);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Node<E> node = this.node;
+            for (int i = this.remaining; i > 0; i--) {
+                action.accept(node.item);
+                node = node.next;
+            }
+            this.node = node;
+            this.remaining = 0;
+        }
+
+        // walks to the middle, which needs no buffer and leaves both halves with an exact size
+        @Override
+        public Spliterator<E> trySplit() {
+            int half = this.remaining >>> 1;
+            if (half == 0) {
+                return null;
+            }
+            Spliterator<E> prefix = new LinkedListSpliterator<>(this.node, half);
+            Node<E> node = this.node;
+            for (int i = 0; i < half; i++) {
+                node = node.next;
+            }
+            this.node = node;
+            this.remaining -= half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
@@ -0,0 +1,170 @@
+package src.algo;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+public class Sort {
+    public static void main(String[] args) {
+        Random random = new Random(0L);
+        Integer[] integers = Search.createRandomIntegerArray(20, 0, 100, 0L);
+        sort(integers);
+        System.out.println("TimSort:        " + Arrays.toString(integers));
+        int[] ints = random.ints(20, -100, 100).toArray();
+        sort(ints);
+        System.out.println("MSD radix sort: " + Arrays.toString(ints));
+        long[] longs = random.longs(10).toArray();
+        lsdRadixSort(longs);
+        System.out.println("LSD radix sort: " + Arrays.toString(longs));
+        Vector<Integer> vector = new DoublyLinkedList<>();
+        for (int i = 0; i < 20; i++) {
+            vector.addLast(random.nextInt(100));
+        }
+        sort(vector, Comparator.reverseOrder());
+        System.out.println("reversed list:  " + vector);
+    }
+
+    public static <T extends Comparable<? super T>> void sort(T[] a) {
+        TimSort.sort(a, 0, a.length, Comparator.naturalOrder());
+    }
+
+    public static <T> void sort(T[] a, Comparator<? super T> comparator) {
+        TimSort.sort(a, 0, a.length, comparator);
+    }
+
+    public static <T> void sort(T[] a, int fromIndex, int toIndex, Comparator<? super T> comparator) {
+        checkRange(a.length, fromIndex, toIndex);
+        TimSort.sort(a, fromIndex, toIndex, comparator);
+    }
+
+    public static <T extends Comparable<? super T>> void parallelSort(T[] a) {
+        ParallelMergeSort.sort(a, 0, a.length, Comparator.naturalOrder());
+    }
+
+    public static <T> void parallelSort(T[] a, Comparator<? super T> comparator) {
+        ParallelMergeSort.sort(a, 0, a.length, comparator);
+    }
+
+    public static <T> void parallelSort(T[] a, int fromIndex, int toIndex, Comparator<? super T> comparator) {
+        checkRange(a.length, fromIndex, toIndex);
+        ParallelMergeSort.sort(a, fromIndex, toIndex, comparator);
+    }
+
+    // in place, by MSD radix sort
+    public static void sort(int[] a) {
+        RadixSort.msdSort(a, 0, a.length);
+    }
+
+    public static void sort(int[] a, int fromIndex, int toIndex) {
+        checkRange(a.length, fromIndex, toIndex);
+        RadixSort.msdSort(a, fromIndex, toIndex);
+    }
+
+    public static void sort(long[] a) {
+        RadixSort.msdSort(a, 0, a.length);
+    }
+
+    public static void sort(long[] a, int fromIndex, int toIndex) {
+        checkRange(a.length, fromIndex, toIndex);
+        RadixSort.msdSort(a, fromIndex, toIndex);
+    }
+
+    // usually faster than sort(int[]) on large inputs, at the cost of a buffer as long as the range
+    public static void lsdRadixSort(int[] a) {
+        RadixSort.lsdSort(a, 0, a.length);
+    }
+
+    public static void lsdRadixSort(int[] a, int fromIndex, int toIndex) {
+        checkRange(a.length, fromIndex, toIndex);
+        RadixSort.lsdSort(a, fromIndex, toIndex);
+    }
+
+    public static void lsdRadixSort(long[] a) {
+        RadixSort.lsdSort(a, 0, a.length);
+    }
+
+    public static void lsdRadixSort(long[] a, int fromIndex, int toIndex) {
+        checkRange(a.length, fromIndex, toIndex);
+        RadixSort.lsdSort(a, fromIndex, toIndex);
+    }
+
+    public static void sort(IntVector vector) {
+        RadixSort.msdSort(vector.elements(), 0, vector.size());
+    }
+
+    public static void sort(LongVector vector) {
+        RadixSort.msdSort(vector.elements(), 0, vector.size());
+    }
+
+    public static <E extends Comparable<? super E>> void sort(Vector<E> vector) {
+        sort(vector, Comparator.naturalOrder());
+    }
+
+    // sorts array vectors and singly linked lists in place, copy-on-write lists through one batch, and
+    // any other vector through one array copy
+    public static <E> void sort(Vector<E> vector, Comparator<? super E> comparator) {
+        if (vector instanceof ArrayVector) {
+            TimSort.sort(elements((ArrayVector<E>) vector), 0, vector.size(), comparator);
+        } else if (vector instanceof SinglyLinkedList) {
+            ((SinglyLinkedList<E>) vector).sort(comparator);
+        } else if (vector instanceof CopyOnWriteList) {
+            // a private copy sorted in place and published at once, instead of a copy per set
+            ((CopyOnWriteList<E>) vector).batch(copy -> sort(copy, comparator));
+        } else {
+            E[] items = copyOf(vector);
+            TimSort.sort(items, 0, items.length, comparator);
+            writeBack(vector, items);
+        }
+    }
+
+    public static <E extends Comparable<? super E>> void parallelSort(Vector<E> vector) {
+        parallelSort(vector, Comparator.naturalOrder());
+    }
+
+    public static <E> void parallelSort(Vector<E> vector, Comparator<? super E> comparator) {
+        if (vector instanceof ArrayVector) {
+            ParallelMergeSort.sort(elements((ArrayVector<E>) vector), 0, vector.size(), comparator);
+        } else if (vector instanceof CopyOnWriteList) {
+            ((CopyOnWriteList<E>) vector).batch(copy -> parallelSort(copy, comparator));
+        } else {
+            E[] items = copyOf(vector);
+            ParallelMergeSort.sort(items, 0, items.length, comparator);
+            writeBack(vector, items);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E[] elements(ArrayVector<E> vector) {
+        return (E[]) vector.elements();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E[] copyOf(Vector<E> vector) {
+        Object[] items = new Object[vector.size()];
+        int i = 0;
+        for (E e : vector) {
+            items[i++] = e;
+        }
+        return (E[]) items;
+    }
+
+    // sequential sets are O(1) on the vectors that come here, the linked ones through their cached
+    // positions; a CopyOnWriteList copies its array on every set, so it is sorted through batch()
+    private static <E> void writeBack(Vector<E> vector, E[] items) {
+        for (int i = 0; i < items.length; i++) {
+            vector.set(i, items[i]);
+        }
+    }
+
+    private static void checkRange(int length, int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > length) {
+            throw new IndexOutOfBoundsException(toIndex);
+        }
+    }
+}
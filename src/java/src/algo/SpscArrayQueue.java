@@ -0,0 +1,315 @@
+package src.algo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// A bounded queue for exactly one producer thread and one consumer thread, on the ring layout of
+// ArrayQueue. Each side owns one index and is the only thread that writes it, so no CAS is needed: the
+// producer fills slots and publishes them with an ordered store of tail, and the consumer empties them
+// and hands them back with an ordered store of head. Each side also keeps a cached copy of the other
+// side's index and only reads the real one when the cache says the ring is full or empty, so in a
+// steady stream the two threads rarely touch each other's cache lines. offerAll() and drain() move a
+// whole batch with a single store.
+public class SpscArrayQueue<E> implements Queue<E> {
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int PADDING = 16; // longs, or two 64-byte cache lines
+    // written by the producer
+    private static final int TAIL = PADDING;
+    private static final int HEAD_CACHE = PADDING + 1;
+    // written by the consumer
+    private static final int HEAD = PADDING * 3;
+    private static final int TAIL_CACHE = PADDING * 3 + 1;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final Object[] es;
+    private final long[] indices;
+    private final int mask;
+
+    public SpscArrayQueue(int capacity) {
+        if (capacity < 2 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException();
+        }
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+        this.es = new Object[length];
+        this.indices = new long[PADDING * 4];
+        this.mask = length - 1;
+    }
+
+    public static void main(String... args) throws InterruptedException {
+        SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(1024);
+        int count = 10_000_000;
+        Integer[] values = new Integer[256];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        Thread producer = new Thread(() -> {
+            int sent = 0;
+            while (sent < count) {
+                int offered = queue.offerAll(values, 0, Math.min(values.length, count - sent));
+                if (offered == 0) {
+                    Thread.yield();
+                }
+                sent += offered;
+            }
+        });
+        long[] sum = new long[1];
+        Thread consumer = new Thread(() -> {
+            int received = 0;
+            while (received < count) {
+                int drained = queue.drain(e -> sum[0] += e, count - received);
+                if (drained == 0) {
+                    Thread.yield();
+                }
+                received += drained;
+            }
+        });
+        long start = System.nanoTime();
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+        long elapsed = System.nanoTime() - start;
+        long expected = (long) (count / values.length) * (values.length * (values.length - 1L) / 2)
+            + (long) (count % values.length) * (count % values.length - 1) / 2;
+        System.out.printf("sum %d (expected %d), %.1f M elements/s%n",
+            sum[0], expected, count * 1_000.0 / elapsed);
+    }
+
+    public int capacity() {
+        return this.es.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // exact when called by the producer or the consumer while the other side is idle
+    @Override
+    public int size() {
+        long head = (long) LONGS.getVolatile(this.indices, HEAD);
+        while (true) {
+            long tail = (long) LONGS.getVolatile(this.indices, TAIL);
+            long again = (long) LONGS.getVolatile(this.indices, HEAD);
+            if (again == head) {
+                return (int) (tail - head);
+            }
+            head = again;
+        }
+    }
+
+    @Override
+    public void enqueue(E e) {
+        if (!offer(e)) {
+            throw new RuntimeException("Queue is full.");
+        }
+    }
+
+    @Override
+    public E dequeue() {
+        E e = poll();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    // producer only; returns false instead of throwing when the queue is full
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new IllegalArgumentException();
+        }
+        long tail = (long) LONGS.get(this.indices, TAIL);
+        if (available(tail, 1) == 0) {
+            return false;
+        }
+        this.es[(int) tail & this.mask] = e;
+        LONGS.setRelease(this.indices, TAIL, tail + 1);
+        return true;
+    }
+
+    // producer only; enqueues as many of the elements as fit and returns how many that was
+    public int offerAll(E[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        long tail = (long) LONGS.get(this.indices, TAIL);
+        int count = (int) Math.min(length, available(tail, length));
+        for (int i = 0; i < count; i++) {
+            if (es[offset + i] == null) {
+                // the elements before the null one stay enqueued, as if they had been offered one by one
+                LONGS.setRelease(this.indices, TAIL, tail + i);
+                throw new IllegalArgumentException();
+            }
+            this.es[(int) (tail + i) & this.mask] = es[offset + i];
+        }
+        if (count != 0) {
+            LONGS.setRelease(this.indices, TAIL, tail + count);
+        }
+        return count;
+    }
+
+    // consumer only; returns null instead of throwing when the queue is empty
+    public E poll() {
+        long head = (long) LONGS.get(this.indices, HEAD);
+        if (published(head, 1) == 0) {
+            return null;
+        }
+        int index = (int) head & this.mask;
+        @SuppressWarnings("unchecked")
+        E e = (E) this.es[index];
+        this.es[index] = null; // faster GC
+        LONGS.setRelease(this.indices, HEAD, head + 1);
+        return e;
+    }
+
+    // consumer only; passes up to limit elements to the action and returns how many that was. The
+    // slots are handed back to the producer once the whole batch has been consumed.
+    public int drain(Consumer<? super E> action, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException();
+        }
+        long head = (long) LONGS.get(this.indices, HEAD);
+        int count = (int) Math.min(limit, published(head, limit));
+        int i = 0;
+        try {
+            for (; i < count; i++) {
+                int index = (int) (head + i) & this.mask;
+                @SuppressWarnings("unchecked")
+                E e = (E) this.es[index];
+                this.es[index] = null; // faster GC
+                action.accept(e);
+            }
+        } finally {
+            // an element whose action threw counts as consumed
+            int consumed = Math.min(i + 1, count);
+            if (consumed != 0) {
+                LONGS.setRelease(this.indices, HEAD, head + consumed);
+            }
+        }
+        return count;
+    }
+
+    // producer only; enqueues all of the elements or, if they do not fit, none of them
+    @Override
+    public void enqueueAll(E[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        if (available((long) LONGS.get(this.indices, TAIL), length) < length) {
+            throw new RuntimeException("Queue is full.");
+        }
+        offerAll(es, offset, length);
+    }
+
+    // consumer only
+    @Override
+    public int drainTo(Consumer<? super E> action, int max) {
+        return drain(action, max);
+    }
+
+    // consumer only
+    @Override
+    public int dequeueInto(E[] es) {
+        long head = (long) LONGS.get(this.indices, HEAD);
+        int count = (int) Math.min(es.length, published(head, es.length));
+        for (int i = 0; i < count; i++) {
+            int index = (int) (head + i) & this.mask;
+            @SuppressWarnings("unchecked")
+            E e = (E) this.es[index];
+            es[i] = e;
+            this.es[index] = null; // faster GC
+        }
+        if (count != 0) {
+            LONGS.setRelease(this.indices, HEAD, head + count);
+        }
+        return count;
+    }
+
+    // consumer only
+    @Override
+    public E peek() {
+        long head = (long) LONGS.get(this.indices, HEAD);
+        if (published(head, 1) == 0) {
+            throw new NoSuchElementException();
+        }
+        @SuppressWarnings("unchecked")
+        E e = (E) this.es[(int) head & this.mask];
+        return e;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        Iterator<E> iterator = iterator();
+        while (iterator.hasNext()) {
+            builder.append(iterator.next());
+            if (iterator.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    // iterates over the elements that were in the queue when the iterator was created
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+
+    // sized by the snapshot itself, since size() read separately may disagree with it
+    @Override
+    public Spliterator<E> spliterator() {
+        return snapshot().spliterator();
+    }
+
+    private ArrayVector<E> snapshot() {
+        long head = (long) LONGS.getVolatile(this.indices, HEAD);
+        long tail = (long) LONGS.getVolatile(this.indices, TAIL);
+        Object[] copy = new Object[(int) (tail - head)];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = this.es[(int) (head + i) & this.mask];
+        }
+        // the slots the consumer has taken meanwhile may have been refilled, the others are intact;
+        // a drain clears its slots before it publishes head, so those show up as nulls instead
+        int consumed = (int) Math.min((long) LONGS.getVolatile(this.indices, HEAD) - head, copy.length);
+        ArrayVector<E> snapshot = new ArrayVector<>(copy.length - consumed);
+        for (int i = consumed; i < copy.length; i++) {
+            @SuppressWarnings("unchecked")
+            E e = (E) copy[i];
+            if (e != null) {
+                snapshot.addLast(e);
+            }
+        }
+        return snapshot;
+    }
+
+    // called by the producer; free slots at tail, reading the real head only when the cached one
+    // leaves fewer than wanted
+    private long available(long tail, int wanted) {
+        long capacity = this.es.length;
+        long head = (long) LONGS.get(this.indices, HEAD_CACHE);
+        if (capacity - (tail - head) < wanted) {
+            head = (long) LONGS.getAcquire(this.indices, HEAD);
+            LONGS.set(this.indices, HEAD_CACHE, head);
+        }
+        return capacity - (tail - head);
+    }
+
+    // called by the consumer; filled slots at head, reading the real tail only when the cached one
+    // leaves fewer than wanted
+    private long published(long head, int wanted) {
+        long tail = (long) LONGS.get(this.indices, TAIL_CACHE);
+        if (tail - head < wanted) {
+            tail = (long) LONGS.getAcquire(this.indices, TAIL);
+            LONGS.set(this.indices, TAIL_CACHE, tail);
+        }
+        return tail - head;
+    }
+}
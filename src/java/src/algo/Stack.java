@@ -1,6 +1,6 @@
 package src.algo;
 
-public interface Stack<E> extends DataStructure, Iterable<E> {
+public interface Stack<E> extends IterableDataStructure<E> {
     public abstract void push(E e);
 
     public abstract E pop();
@@ -0,0 +1,331 @@
+package src.algo;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+
+// A tiered vector keeps its elements in equally sized circular blocks where every block except the
+// last one is full. An element is found in O(1) by splitting its index into a block and a position,
+// and a positional insert or removal shifts within a single block and then moves one element across
+// each following block boundary, which costs O(k + n / k) with blocks of k ~ sqrt(n) elements.
+public class TieredVector<E> implements List<E> {
+    private static final int MINIMUM_BLOCK_SHIFT = 4;
+
+    private Object[][] blocks;
+    private int[] offsets;
+    private int blockCount;
+    private int shift;
+    private int size;
+    private Metrics metrics;
+
+    public TieredVector() {
+        this.blocks = new Object[1][];
+        this.offsets = new int[1];
+        this.blockCount = 0;
+        this.shift = MINIMUM_BLOCK_SHIFT;
+        this.size = 0;
+        this.metrics = null;
+    }
+
+    public static void main(String... args) {
+        List<Integer> list = new TieredVector<>();
+        Random random = new Random(0L);
+        for (int i = 0; i < 30; i++) {
+            int index = random.nextInt(list.size() + 1);
+            list.add(index, i);
+            System.out.printf("added %2d into index %2d: ", i, index);
+            System.out.println(list);
+        }
+        while (!list.isEmpty()) {
+            int index = random.nextInt(list.size());
+            int item = list.remove(index);
+            System.out.printf("removed %2d from the index %2d: ", item, index);
+            System.out.println(list);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.metrics = Metrics.toggle(this.metrics, enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return Metrics.snapshot(this.metrics);
+    }
+
+    @Override
+    public void addLast(E e) {
+        add(this.size, e);
+    }
+
+    @Override
+    public void addFirst(E e) {
+        add(0, e);
+    }
+
+    @Override
+    public void add(int index, E e) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (this.size == Integer.MAX_VALUE) {
+            throw new RuntimeException("Vector is full.");
+        }
+        // keeps the number of blocks within twice the block size
+        if (this.size >= (2L << (this.shift << 1))) {
+            rebuild(this.shift + 1);
+        }
+        if (this.size == (this.blockCount << this.shift)) {
+            appendBlock();
+        }
+        int mask = (1 << this.shift) - 1;
+        int block = index >>> this.shift;
+        int position = index & mask;
+        int lastBlock = this.blockCount - 1;
+        if (block == lastBlock) {
+            insert(block, position, countOf(block), e);
+            this.size++;
+            return;
+        }
+        // the full block overflows its last element into the front of the next block, and so on
+        Object carry = insertIntoFull(block, position, e);
+        for (int b = block + 1; b < lastBlock; b++) {
+            int first = (this.offsets[b] - 1) & mask;
+            Object overflow = this.blocks[b][first];
+            this.blocks[b][first] = carry;
+            this.offsets[b] = first;
+            carry = overflow;
+        }
+        int first = (this.offsets[lastBlock] - 1) & mask;
+        this.blocks[lastBlock][first] = carry;
+        this.offsets[lastBlock] = first;
+        this.size++;
+    }
+
+    @Override
+    public E removeLast() {
+        return remove(this.size - 1);
+    }
+
+    @Override
+    public E removeFirst() {
+        return remove(0);
+    }
+
+    @Override
+    public E remove(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int mask = (1 << this.shift) - 1;
+        int block = index >>> this.shift;
+        int position = index & mask;
+        int lastBlock = this.blockCount - 1;
+        @SuppressWarnings("unchecked")
+        E ret = (E) this.blocks[block][(this.offsets[block] + position) & mask];
+        delete(block, position, countOf(block));
+        // every following block hands its first element to the end of the previous one
+        for (int b = block + 1; b <= lastBlock; b++) {
+            int first = this.offsets[b];
+            Object item = this.blocks[b][first];
+            this.blocks[b][first] = null; // faster GC
+            this.offsets[b] = (first + 1) & mask;
+            this.blocks[b - 1][(this.offsets[b - 1] + mask) & mask] = item;
+        }
+        this.size--;
+        if (this.size == (lastBlock << this.shift)) {
+            // the emptied block stays allocated as a spare for the next append
+            this.offsets[lastBlock] = 0;
+            this.blockCount--;
+        }
+        if (this.shift > MINIMUM_BLOCK_SHIFT && this.size <= ((1 << (this.shift << 1)) >>> 3)) {
+            rebuild(this.shift - 1);
+        }
+        return ret;
+    }
+
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int block = index >>> this.shift;
+        int mask = (1 << this.shift) - 1;
+        @SuppressWarnings("unchecked")
+        E item = (E) this.blocks[block][(this.offsets[block] + index) & mask];
+        return item;
+    }
+
+    @Override
+    public void set(int index, E e) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int block = index >>> this.shift;
+        int mask = (1 << this.shift) - 1;
+        this.blocks[block][(this.offsets[block] + index) & mask] = e;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(get(i));
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new TieredVectorIterator<>(this);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new RandomAccessSpliterator<>(this, 0, this.size);
+    }
+
+    private int countOf(int block) {
+        return block < this.blockCount - 1 ? (1 << this.shift) : this.size - (block << this.shift);
+    }
+
+    private void appendBlock() {
+        if (this.blockCount == this.blocks.length) {
+            int newLength = this.blocks.length * 2;
+            Object[][] newBlocks = new Object[newLength][];
+            int[] newOffsets = new int[newLength];
+            System.arraycopy(this.blocks, 0, newBlocks, 0, this.blockCount);
+            System.arraycopy(this.offsets, 0, newOffsets, 0, this.blockCount);
+            this.blocks = newBlocks;
+            this.offsets = newOffsets;
+        }
+        if (this.blocks[this.blockCount] == null) {
+            this.blocks[this.blockCount] = new Object[1 << this.shift];
+        }
+        this.offsets[this.blockCount] = 0;
+        this.blockCount++;
+    }
+
+    // inserts into a block that has room, moving whichever side of the position is shorter
+    private void insert(int block, int position, int count, Object e) {
+        Object[] items = this.blocks[block];
+        int mask = items.length - 1;
+        int offset = this.offsets[block];
+        if (position < count - position) {
+            offset = (offset - 1) & mask;
+            for (int i = 0; i < position; i++) {
+                items[(offset + i) & mask] = items[(offset + i + 1) & mask];
+            }
+            this.offsets[block] = offset;
+        } else {
+            for (int i = count; i > position; i--) {
+                items[(offset + i) & mask] = items[(offset + i - 1) & mask];
+            }
+        }
+        items[(offset + position) & mask] = e;
+    }
+
+    // inserts into a full block and returns the element pushed out of its end
+    private Object insertIntoFull(int block, int position, Object e) {
+        Object[] items = this.blocks[block];
+        int mask = items.length - 1;
+        int offset = this.offsets[block];
+        Object overflow = items[(offset + mask) & mask];
+        if (position < mask - position) {
+            // the slot of the last element becomes the new first slot
+            offset = (offset - 1) & mask;
+            for (int i = 0; i < position; i++) {
+                items[(offset + i) & mask] = items[(offset + i + 1) & mask];
+            }
+            this.offsets[block] = offset;
+        } else {
+            for (int i = mask; i > position; i--) {
+                items[(offset + i) & mask] = items[(offset + i - 1) & mask];
+            }
+        }
+        items[(offset + position) & mask] = e;
+        return overflow;
+    }
+
+    // removes from a block, closing the gap from whichever side of the position is shorter
+    private void delete(int block, int position, int count) {
+        Object[] items = this.blocks[block];
+        int mask = items.length - 1;
+        int offset = this.offsets[block];
+        if (position < count - 1 - position) {
+            for (int i = position; i > 0; i--) {
+                items[(offset + i) & mask] = items[(offset + i - 1) & mask];
+            }
+            items[offset] = null; // faster GC
+            this.offsets[block] = (offset + 1) & mask;
+        } else {
+            for (int i = position; i < count - 1; i++) {
+                items[(offset + i) & mask] = items[(offset + i + 1) & mask];
+            }
+            items[(offset + count - 1) & mask] = null; // faster GC
+        }
+    }
+
+    private void rebuild(int newShift) {
+        if (this.metrics != null) {
+            this.metrics.countResize();
+        }
+        int newBlockSize = 1 << newShift;
+        int newBlockCount = (this.size + newBlockSize - 1) >>> newShift;
+        Object[][] newBlocks = new Object[Math.max(newBlockCount, 1)][];
+        int[] newOffsets = new int[newBlocks.length];
+        for (int b = 0; b < newBlockCount; b++) {
+            newBlocks[b] = new Object[newBlockSize];
+        }
+        int mask = (1 << this.shift) - 1;
+        int newMask = newBlockSize - 1;
+        for (int i = 0; i < this.size; i++) {
+            int block = i >>> this.shift;
+            newBlocks[i >>> newShift][i & newMask] = this.blocks[block][(this.offsets[block] + i) & mask];
+        }
+        this.blocks = newBlocks;
+        this.offsets = newOffsets;
+        this.blockCount = newBlockCount;
+        this.shift = newShift;
+    }
+
+    private static class TieredVectorIterator<E> implements Iterator<E> {
+        final TieredVector<E> vector;
+        int index;
+
+        TieredVectorIterator(TieredVector<E> vector) {
+            this.vector = vector;
+            this.index = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index != this.vector.size;
+        }
+
+        @Override
+        public E next() {
+            if (this.index == this.vector.size) {
+                throw new NoSuchElementException();
+            }
+            return this.vector.get(this.index++);
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package src.algo;
+
+import java.util.Comparator;
+
+// A stable, adaptive merge sort. It finds the ascending or strictly descending runs already present
+// in the input, extends short runs to a minimum length with binary insertion sort, and merges the
+// runs from a stack whose lengths are kept roughly Fibonacci-like, so nearly sorted input is sorted in
+// close to linear time and random input in O(n log n).
+class TimSort<T> {
+    private static final int MIN_MERGE = 32;
+    private static final int MIN_GALLOP = 7;
+    // enough for any run stack of an int-sized array under the invariants kept by mergeCollapse
+    private static final int MAX_STACK_SIZE = 49;
+
+    private final T[] a;
+    private final Comparator<? super T> comparator;
+    private final int[] runBase;
+    private final int[] runLength;
+    private int stackSize;
+    private int minGallop;
+    private Object[] buffer;
+
+    private TimSort(T[] a, Comparator<? super T> comparator) {
+        this.a = a;
+        this.comparator = comparator;
+        this.runBase = new int[MAX_STACK_SIZE];
+        this.runLength = new int[MAX_STACK_SIZE];
+        this.stackSize = 0;
+        this.minGallop = MIN_GALLOP;
+        this.buffer = null;
+    }
+
+    static <T> void sort(T[] a, int fromIndex, int toIndex, Comparator<? super T> comparator) {
+        int remaining = toIndex - fromIndex;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int runEnd = ascendingRunEnd(a, fromIndex, toIndex, comparator);
+            binaryInsertionSort(a, fromIndex, toIndex, runEnd, comparator);
+            return;
+        }
+        TimSort<T> sorter = new TimSort<>(a, comparator);
+        int minRun = minRunLength(remaining);
+        int low = fromIndex;
+        while (remaining != 0) {
+            int runEnd = ascendingRunEnd(a, low, toIndex, comparator);
+            int length = runEnd - low;
+            if (length < minRun) {
+                int forced = Math.min(remaining, minRun);
+                binaryInsertionSort(a, low, low + forced, runEnd, comparator);
+                length = forced;
+            }
+            sorter.push(low, length);
+            sorter.mergeCollapse();
+            low += length;
+            remaining -= length;
+        }
+        sorter.mergeForce();
+    }
+
+    // returns the end of the run starting at low, reversing it first if it is strictly descending
+    private static <T> int ascendingRunEnd(T[] a, int low, int high, Comparator<? super T> comparator) {
+        int end = low + 1;
+        if (end == high) {
+            return end;
+        }
+        if (comparator.compare(a[end++], a[low]) < 0) {
+            while (end < high && comparator.compare(a[end], a[end - 1]) < 0) {
+                end++;
+            }
+            reverse(a, low, end);
+        } else {
+            while (end < high && comparator.compare(a[end], a[end - 1]) >= 0) {
+                end++;
+            }
+        }
+        return end;
+    }
+
+    private static void reverse(Object[] a, int low, int high) {
+        for (int i = low, j = high - 1; i < j; i++, j--) {
+            Object t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    // sorts a[low, high) given that a[low, start) is already sorted
+    private static <T> void binaryInsertionSort(T[] a, int low, int high, int start, Comparator<? super T> comparator) {
+        for (int i = start; i < high; i++) {
+            T pivot = a[i];
+            int position = upperBound(a, low, i, pivot, comparator);
+            System.arraycopy(a, position, a, position + 1, i - position);
+            a[position] = pivot;
+        }
+    }
+
+    // the sum of the returned minimum and a power of two divides the length into nearly equal runs
+    private static int minRunLength(int length) {
+        int r = 0;
+        while (length >= MIN_MERGE) {
+            r |= length & 1;
+            length >>= 1;
+        }
+        return length + r;
+    }
+
+    // the first index in a[low, high) whose element is greater than the key
+    private static <T> int upperBound(T[] a, int low, int high, T key, Comparator<? super T> comparator) {
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(key, a[middle]) < 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private void push(int base, int length) {
+        this.runBase[this.stackSize] = base;
+        this.runLength[this.stackSize] = length;
+        this.stackSize++;
+    }
+
+    // merges until every run is longer than the next two together and the next one, checking the
+    // invariant also one run deeper than the original description, which could break it
+    private void mergeCollapse() {
+        int[] length = this.runLength;
+        while (this.stackSize > 1) {
+            int n = this.stackSize - 2;
+            if (n > 0 && length[n - 1] <= length[n] + length[n + 1]
+                || n > 1 && length[n - 2] <= length[n - 1] + length[n]) {
+                if (length[n - 1] < length[n + 1]) {
+                    n--;
+                }
+            } else if (length[n] > length[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    private void mergeForce() {
+        while (this.stackSize > 1) {
+            int n = this.stackSize - 2;
+            if (n > 0 && this.runLength[n - 1] < this.runLength[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    // merges the runs at i and i + 1 of the stack
+    private void mergeAt(int i) {
+        int base1 = this.runBase[i];
+        int length1 = this.runLength[i];
+        int base2 = this.runBase[i + 1];
+        int length2 = this.runLength[i + 1];
+        this.runLength[i] = length1 + length2;
+        if (i == this.stackSize - 3) {
+            this.runBase[i + 1] = this.runBase[i + 2];
+            this.runLength[i + 1] = this.runLength[i + 2];
+        }
+        this.stackSize--;
+        // the head of the first run and the tail of the second one may already be in place
+        int skipped = gallopRight(this.a[base2], this.a, base1, length1, 0);
+        base1 += skipped;
+        length1 -= skipped;
+        if (length1 == 0) {
+            return;
+        }
+        length2 = gallopLeft(this.a[base1 + length1 - 1], this.a, base2, length2, length2 - 1);
+        if (length2 == 0) {
+            return;
+        }
+        if (length1 <= length2) {
+            mergeLow(base1, length1, base2, length2);
+        } else {
+            mergeHigh(base1, length1, base2, length2);
+        }
+    }
+
+    // Copies the shorter first run aside and merges from the front. Once one run wins MIN_GALLOP
+    // times in a row, the merge gallops: it searches how many elements of a run go next at once and
+    // moves them as a block, and it stays in that mode while the blocks are long enough.
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        T[] a = this.a;
+        Object[] buffer = ensureBuffer(length1);
+        System.arraycopy(a, base1, buffer, 0, length1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int d = base1;
+        // mergeAt has left the smallest element at the head of the second run
+        a[d++] = a[cursor2++];
+        if (--length2 == 0) {
+            System.arraycopy(buffer, cursor1, a, d, length1);
+            return;
+        }
+        if (length1 == 1) {
+            System.arraycopy(a, cursor2, a, d, length2);
+            a[d + length2] = element(buffer, cursor1);
+            return;
+        }
+        int minGallop = this.minGallop;
+        merge:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            do {
+                if (compare(a[cursor2], buffer[cursor1]) < 0) {
+                    a[d++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 0) {
+                        break merge;
+                    }
+                } else {
+                    a[d++] = element(buffer, cursor1++);
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 1) {
+                        break merge;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            do {
+                count1 = gallopRight(a[cursor2], buffer, cursor1, length1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(buffer, cursor1, a, d, count1);
+                    d += count1;
+                    cursor1 += count1;
+                    length1 -= count1;
+                    if (length1 <= 1) {
+                        break merge;
+                    }
+                }
+                a[d++] = a[cursor2++];
+                if (--length2 == 0) {
+                    break merge;
+                }
+                count2 = gallopLeft(buffer[cursor1], a, cursor2, length2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, d, count2);
+                    d += count2;
+                    cursor2 += count2;
+                    length2 -= count2;
+                    if (length2 == 0) {
+                        break merge;
+                    }
+                }
+                a[d++] = element(buffer, cursor1++);
+                if (--length1 == 1) {
+                    break merge;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            // galloping stopped paying off, so it takes longer to start again
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        this.minGallop = Math.max(minGallop, 1);
+        if (length1 == 1) {
+            System.arraycopy(a, cursor2, a, d, length2);
+            a[d + length2] = element(buffer, cursor1);
+        } else if (length1 == 0) {
+            throw new IllegalArgumentException("Comparator is inconsistent.");
+        } else {
+            System.arraycopy(buffer, cursor1, a, d, length1);
+        }
+    }
+
+    // the mirror image of mergeLow: copies the shorter second run aside and merges from the back
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        T[] a = this.a;
+        Object[] buffer = ensureBuffer(length2);
+        System.arraycopy(a, base2, buffer, 0, length2);
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int d = base2 + length2 - 1;
+        // mergeAt has left the largest element at the tail of the first run
+        a[d--] = a[cursor1--];
+        if (--length1 == 0) {
+            System.arraycopy(buffer, 0, a, d - (length2 - 1), length2);
+            return;
+        }
+        if (length2 == 1) {
+            d -= length1;
+            cursor1 -= length1;
+            System.arraycopy(a, cursor1 + 1, a, d + 1, length1);
+            a[d] = element(buffer, cursor2);
+            return;
+        }
+        int minGallop = this.minGallop;
+        merge:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            do {
+                if (compare(buffer[cursor2], a[cursor1]) < 0) {
+                    a[d--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 0) {
+                        break merge;
+                    }
+                } else {
+                    a[d--] = element(buffer, cursor2--);
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 1) {
+                        break merge;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            do {
+                count1 = length1 - gallopRight(buffer[cursor2], a, base1, length1, length1 - 1);
+                if (count1 != 0) {
+                    d -= count1;
+                    cursor1 -= count1;
+                    length1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, d + 1, count1);
+                    if (length1 == 0) {
+                        break merge;
+                    }
+                }
+                a[d--] = element(buffer, cursor2--);
+                if (--length2 == 1) {
+                    break merge;
+                }
+                count2 = length2 - gallopLeft(a[cursor1], buffer, 0, length2, length2 - 1);
+                if (count2 != 0) {
+                    d -= count2;
+                    cursor2 -= count2;
+                    length2 -= count2;
+                    System.arraycopy(buffer, cursor2 + 1, a, d + 1, count2);
+                    if (length2 <= 1) {
+                        break merge;
+                    }
+                }
+                a[d--] = a[cursor1--];
+                if (--length1 == 0) {
+                    break merge;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;
+        }
+        this.minGallop = Math.max(minGallop, 1);
+        if (length2 == 1) {
+            d -= length1;
+            cursor1 -= length1;
+            System.arraycopy(a, cursor1 + 1, a, d + 1, length1);
+            a[d] = element(buffer, cursor2);
+        } else if (length2 == 0) {
+            throw new IllegalArgumentException("Comparator is inconsistent.");
+        } else {
+            System.arraycopy(buffer, 0, a, d - (length2 - 1), length2);
+        }
+    }
+
+    // Returns how many elements of a[base, base + length) are less than the key. The search starts
+    // at the hint and probes at distances 1, 3, 7, ... before a binary search, so it is cheap when
+    // the answer is close to the hint.
+    private int gallopLeft(Object key, Object[] a, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (compare(key, a[base + hint]) > 0) {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && compare(key, a[base + hint + offset]) > 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) { // overflow
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && compare(key, a[base + hint - offset]) <= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int t = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - t;
+        }
+        // the answer is in (lastOffset, offset]
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (compare(key, a[base + middle]) > 0) {
+                lastOffset = middle + 1;
+            } else {
+                offset = middle;
+            }
+        }
+        return offset;
+    }
+
+    // like gallopLeft, but counts the elements that are not greater than the key
+    private int gallopRight(Object key, Object[] a, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (compare(key, a[base + hint]) < 0) {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && compare(key, a[base + hint - offset]) < 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int t = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - t;
+        } else {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && compare(key, a[base + hint + offset]) >= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        }
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (compare(key, a[base + middle]) < 0) {
+                offset = middle;
+            } else {
+                lastOffset = middle + 1;
+            }
+        }
+        return offset;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object x, Object y) {
+        return this.comparator.compare((T) x, (T) y);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T element(Object[] buffer, int index) {
+        return (T) buffer[index];
+    }
+
+    private Object[] ensureBuffer(int length) {
+        if (this.buffer == null || this.buffer.length < length) {
+            int newLength = this.buffer == null ? Math.max(length, 256) : Math.max(length, this.buffer.length * 2);
+            this.buffer = new Object[Math.min(newLength, this.a.length)];
+        }
+        return this.buffer;
+    }
+}
@@ -0,0 +1,581 @@
+package src.algo;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// A doubly linked list of small arrays. Every node keeps its elements in items[start, end), so both
+// ends of the list grow and shrink in O(1); full nodes split in half and sparse nodes merge with a
+// neighbour, which keeps the per-element overhead at a fraction of a reference.
+public class UnrolledLinkedList<E> implements List<E> {
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private final int nodeCapacity;
+
+    private int size;
+    private Node<E> first;
+    private Node<E> last;
+    private int nodeBase; // index of the first element of the node returned by the last node() call
+    private Node<E> cachedNode; // that node, until an insertion or removal moves the node bases
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException();
+        }
+        this.nodeCapacity = nodeCapacity;
+        this.size = 0;
+        this.first = null;
+        this.last = null;
+        this.nodeBase = 0;
+        this.cachedNode = null;
+    }
+
+    public static void main(String... args) {
+        List<Integer> list = new UnrolledLinkedList<>(4);
+        Random random = new Random(0L);
+        for (int i = 0; i < 30; i++) {
+            int index = random.nextInt(list.size() + 1);
+            list.add(index, i);
+            System.out.printf("added %2d into index %2d: ", i, index);
+            System.out.println(list);
+        }
+        while (!list.isEmpty()) {
+            int index = random.nextInt(list.size());
+            int item = list.remove(index);
+            System.out.printf("removed %2d from the index %2d: ", item, index);
+            System.out.println(list);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void addLast(E e) {
+        Node<E> node = this.last;
+        if (node == null || node.end == this.nodeCapacity) {
+            node = new Node<>(this.nodeCapacity, 0);
+            linkAfter(this.last, node);
+        }
+        node.items[node.end++] = e;
+        this.size++;
+    }
+
+    @Override
+    public void addFirst(E e) {
+        Node<E> node = this.first;
+        if (node == null || node.start == 0) {
+            // a new head node fills from its end, so following prepends stay O(1)
+            node = new Node<>(this.nodeCapacity, this.nodeCapacity);
+            linkBefore(this.first, node);
+        }
+        node.items[--node.start] = e;
+        this.size++;
+        this.cachedNode = null;
+    }
+
+    @Override
+    public void add(int index, E e) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (index == this.size) {
+            addLast(e);
+            return;
+        }
+        if (index == 0) {
+            addFirst(e);
+            return;
+        }
+        Node<E> node = node(index);
+        int position = index - this.nodeBase;
+        if (node.count() == this.nodeCapacity) {
+            Node<E> upper = split(node);
+            if (position > node.count()) {
+                position -= node.count();
+                node = upper;
+            }
+        }
+        int offset = node.start + position;
+        boolean shiftRight = node.start == 0 || (node.end < this.nodeCapacity && position >= node.count() / 2);
+        if (shiftRight) {
+            System.arraycopy(node.items, offset, node.items, offset + 1, node.end - offset);
+            node.end++;
+        } else {
+            System.arraycopy(node.items, node.start, node.items, node.start - 1, position);
+            node.start--;
+            offset--;
+        }
+        node.items[offset] = e;
+        this.size++;
+        this.cachedNode = null;
+    }
+
+    // fills the free end of the last node, then links full new nodes behind it
+    public void addAllLast(E[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        int copied = 0;
+        if (this.last != null) {
+            copied = Math.min(length, this.nodeCapacity - this.last.end);
+            System.arraycopy(es, offset, this.last.items, this.last.end, copied);
+            this.last.end += copied;
+        }
+        while (copied < length) {
+            int count = Math.min(length - copied, this.nodeCapacity);
+            Node<E> node = new Node<>(this.nodeCapacity, 0);
+            System.arraycopy(es, offset + copied, node.items, 0, count);
+            node.end = count;
+            linkAfter(this.last, node);
+            copied += count;
+        }
+        this.size += length;
+    }
+
+    // the mirror image of addAllLast: es[offset] becomes the first element
+    public void addAllFirst(E[] es, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > es.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        int remaining = length;
+        if (this.first != null) {
+            int count = Math.min(remaining, this.first.start);
+            System.arraycopy(es, offset + remaining - count, this.first.items, this.first.start - count, count);
+            this.first.start -= count;
+            remaining -= count;
+        }
+        while (remaining > 0) {
+            int count = Math.min(remaining, this.nodeCapacity);
+            Node<E> node = new Node<>(this.nodeCapacity, this.nodeCapacity - count);
+            System.arraycopy(es, offset + remaining - count, node.items, node.start, count);
+            node.end = this.nodeCapacity;
+            linkBefore(this.first, node);
+            remaining -= count;
+        }
+        this.size += length;
+        this.cachedNode = null;
+    }
+
+    // removes up to max elements from the front, passing each to the action, and returns how many
+    public int drainFirst(Consumer<? super E> action, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = Math.min(max, this.size);
+        this.cachedNode = null;
+        for (int i = 0; i < count; i++) {
+            Node<E> node = this.first;
+            @SuppressWarnings("unchecked")
+            E item = (E) node.items[node.start];
+            node.items[node.start++] = null; // faster GC
+            this.size--;
+            if (node.count() == 0) {
+                unlink(node);
+            }
+            action.accept(item);
+        }
+        return count;
+    }
+
+    public int drainLast(Consumer<? super E> action, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int count = Math.min(max, this.size);
+        this.cachedNode = null;
+        for (int i = 0; i < count; i++) {
+            Node<E> node = this.last;
+            @SuppressWarnings("unchecked")
+            E item = (E) node.items[--node.end];
+            node.items[node.end] = null; // faster GC
+            this.size--;
+            if (node.count() == 0) {
+                unlink(node);
+            }
+            action.accept(item);
+        }
+        return count;
+    }
+
+    // moves up to length elements from the front into the destination, one block copy per node
+    public int removeFirstInto(E[] destination, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > destination.length - length) {
+            throw new IndexOutOfBoundsException(offset);
+        }
+        int count = Math.min(length, this.size);
+        int copied = 0;
+        while (copied < count) {
+            Node<E> node = this.first;
+            int n = Math.min(count - copied, node.count());
+            System.arraycopy(node.items, node.start, destination, offset + copied, n);
+            Arrays.fill(node.items, node.start, node.start + n, null); // faster GC
+            node.start += n;
+            if (node.count() == 0) {
+                unlink(node);
+            }
+            copied += n;
+        }
+        this.size -= count;
+        this.cachedNode = null;
+        return count;
+    }
+
+    @Override
+    public E removeLast() {
+        if (this.size == 0) {
+            throw new IndexOutOfBoundsException(-1);
+        }
+        Node<E> node = this.last;
+        @SuppressWarnings("unchecked")
+        E item = (E) node.items[--node.end];
+        node.items[node.end] = null; // faster GC
+        this.size--;
+        this.cachedNode = null;
+        if (node.count() == 0) {
+            unlink(node);
+        }
+        return item;
+    }
+
+    @Override
+    public E removeFirst() {
+        if (this.size == 0) {
+            throw new IndexOutOfBoundsException(0);
+        }
+        Node<E> node = this.first;
+        @SuppressWarnings("unchecked")
+        E item = (E) node.items[node.start];
+        node.items[node.start++] = null; // faster GC
+        this.size--;
+        this.cachedNode = null;
+        if (node.count() == 0) {
+            unlink(node);
+        }
+        return item;
+    }
+
+    @Override
+    public E remove(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Node<E> node = node(index);
+        int position = index - this.nodeBase;
+        int offset = node.start + position;
+        @SuppressWarnings("unchecked")
+        E item = (E) node.items[offset];
+        if (position < node.count() / 2) {
+            System.arraycopy(node.items, node.start, node.items, node.start + 1, position);
+            node.items[node.start++] = null; // faster GC
+        } else {
+            System.arraycopy(node.items, offset + 1, node.items, offset, node.end - offset - 1);
+            node.items[--node.end] = null; // faster GC
+        }
+        this.size--;
+        this.cachedNode = null;
+        if (node.count() == 0) {
+            unlink(node);
+        } else if (node.count() < this.nodeCapacity / 4) {
+            int half = this.nodeCapacity / 2;
+            if (node.next != null && node.count() + node.next.count() <= half) {
+                merge(node, node.next);
+            } else if (node.previous != null && node.previous.count() + node.count() <= half) {
+                merge(node.previous, node);
+            }
+        }
+        return item;
+    }
+
+    @Override
+    public E get(int index) {
+        Node<E> node = node(index);
+        @SuppressWarnings("unchecked")
+        E item = (E) node.items[node.start + index - this.nodeBase];
+        return item;
+    }
+
+    @Override
+    public void set(int index, E e) {
+        Node<E> node = node(index);
+        node.items[node.start + index - this.nodeBase] = e;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        Iterator<E> iterator = iterator();
+        while (iterator.hasNext()) {
+            builder.append(iterator.next());
+            if (iterator.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new UnrolledLinkedListIterator<>(this.first);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        Node<E> first = this.first;
+        return new UnrolledLinkedListSpliterator<>(first, first == null ? 0 : first.start, this.size);
+    }
+
+    private Node<E> node(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        // sequential accesses mostly stay within the node found last time
+        Node<E> cached = this.cachedNode;
+        if (cached != null && index >= this.nodeBase && index < this.nodeBase + cached.count()) {
+            return cached;
+        }
+        Node<E> n;
+        int base;
+        if (index >= this.size / 2) {
+            n = this.last;
+            base = this.size - n.count();
+            while (index < base) {
+                n = n.previous;
+                base -= n.count();
+            }
+        } else {
+            n = this.first;
+            base = 0;
+            while (index >= base + n.count()) {
+                base += n.count();
+                n = n.next;
+            }
+        }
+        this.nodeBase = base;
+        this.cachedNode = n;
+        return n;
+    }
+
+    // moves the upper half of a full node into a new node right after it
+    private Node<E> split(Node<E> node) {
+        int half = node.count() / 2;
+        Node<E> upper = new Node<>(this.nodeCapacity, 0);
+        int from = node.end - half;
+        System.arraycopy(node.items, from, upper.items, 0, half);
+        upper.end = half;
+        for (int i = from; i < node.end; i++) {
+            node.items[i] = null; // faster GC
+        }
+        node.end = from;
+        linkAfter(node, upper);
+        return upper;
+    }
+
+    // moves every element of the successor into the node and drops the successor
+    private void merge(Node<E> node, Node<E> successor) {
+        int count = node.count();
+        if (node.start != 0) {
+            System.arraycopy(node.items, node.start, node.items, 0, count);
+            for (int i = Math.max(count, node.start); i < node.end; i++) {
+                node.items[i] = null; // faster GC
+            }
+            node.start = 0;
+            node.end = count;
+        }
+        System.arraycopy(successor.items, successor.start, node.items, node.end, successor.count());
+        node.end += successor.count();
+        unlink(successor);
+    }
+
+    private void linkAfter(Node<E> node, Node<E> newNode) {
+        newNode.previous = node;
+        if (node == null) {
+            newNode.next = this.first;
+            if (this.first != null) {
+                this.first.previous = newNode;
+            }
+            this.first = newNode;
+        } else {
+            newNode.next = node.next;
+            if (node.next != null) {
+                node.next.previous = newNode;
+            }
+            node.next = newNode;
+        }
+        if (newNode.next == null) {
+            this.last = newNode;
+        }
+    }
+
+    private void linkBefore(Node<E> node, Node<E> newNode) {
+        linkAfter(node == null ? this.last : node.previous, newNode);
+    }
+
+    private void unlink(Node<E> node) {
+        Node<E> previous = node.previous;
+        Node<E> next = node.next;
+        if (previous == null) { // node == first
+            this.first = next;
+        } else {
+            previous.next = next;
+        }
+        if (next == null) { // node == last
+            this.last = previous;
+        } else {
+            next.previous = previous;
+        }
+        // faster GC
+        node.previous = null;
+        node.next = null;
+    }
+
+    private static class Node<E> {
+        final Object[] items;
+        int start;
+        int end;
+        Node<E> previous;
+        Node<E> next;
+
+        Node(int capacity, int position) {
+            this.items = new Object[capacity];
+            this.start = position;
+            this.end = position;
+            this.previous = null;
+            this.next = null;
+        }
+
+        int count() {
+            return this.end - this.start;
+        }
+    }
+
+    private static class UnrolledLinkedListIterator<E> implements Iterator<E> {
+        Node<E> node;
+        int offset;
+
+        UnrolledLinkedListIterator(Node<E> node) {
+            this.node = node;
+            this.offset = node == null ? 0 : node.start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.node != null;
+        }
+
+        @Override
+        public E next() {
+            if (this.node == null) {
+                throw new NoSuchElementException();
+            }
+            @SuppressWarnings("unchecked")
+            E item = (E) this.node.items[this.offset++];
+            if (this.offset == this.node.end) {
+                this.node = this.node.next;
+                this.offset = this.node == null ? 0 : this.node.start;
+            }
+            return item;
+        }
+    }
+
+    private static class UnrolledLinkedListSpliterator<E> implements Spliterator<E> {
+        Node<E> node;
+        int offset;
+        int remaining;
+
+        UnrolledLinkedListSpliterator(Node<E> node, int offset, int remaining) {
+            this.node = node;
+            this.offset = offset;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (this.remaining == 0) {
+                return false;
+            }
+            @SuppressWarnings("unchecked")
+            E item = (E) this.node.items[this.offset++];
+            if (this.offset == this.node.end) {
+                this.node = this.node.next;
+                this.offset = this.node == null ? 0 : this.node.start;
+            }
+            this.remaining--;
+            action.accept(item);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Node<E> node = this.node;
+            int offset = this.offset;
+            int remaining = this.remaining;
+            while (remaining != 0) {
+                int end = Math.min(node.end, offset + remaining);
+                for (int i = offset; i < end; i++) {
+                    @SuppressWarnings("unchecked")
+                    E item = (E) node.items[i];
+                    action.accept(item);
+                }
+                remaining -= end - offset;
+                if (end == node.end) {
+                    node = node.next;
+                    offset = node == null ? 0 : node.start;
+                } else {
+                    offset = end;
+                }
+            }
+            this.node = node;
+            this.offset = offset;
+            this.remaining = 0;
+        }
+
+        // skips whole nodes to reach the middle, so a split costs one step per node, not per element
+        @Override
+        public Spliterator<E> trySplit() {
+            int half = this.remaining >>> 1;
+            if (half == 0) {
+                return null;
+            }
+            Spliterator<E> prefix = new UnrolledLinkedListSpliterator<>(this.node, this.offset, half);
+            Node<E> node = this.node;
+            int offset = this.offset;
+            int skip = half;
+            while (skip >= node.end - offset) {
+                skip -= node.end - offset;
+                node = node.next;
+                offset = node.start;
+            }
+            this.node = node;
+            this.offset = offset + skip;
+            this.remaining -= half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
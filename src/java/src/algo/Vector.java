@@ -1,6 +1,6 @@
 package src.algo;
 
-public interface Vector<E> extends DataStructure, Iterable<E> {
+public interface Vector<E> extends ReadableVector<E> {
     public abstract void addLast(E e);
 
     public abstract void addFirst(E e);
@@ -13,7 +13,5 @@ public interface Vector<E> extends DataStructure, Iterable<E> {
 
     public abstract E remove(int index);
 
-    public abstract E get(int index);
-
     public abstract void set(int index, E e);
 }
@@ -0,0 +1,175 @@
+package src.algo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// The Chase-Lev deque: one owner thread pushes and pops at the bottom like a stack, without locks,
+// while any number of thieves take the oldest elements from the top with a CAS. Owner and thieves
+// only meet over the last element, which both sides claim by advancing top. The elements live in a
+// circular array that the owner doubles when it is full; thieves still reading the old array find
+// the same elements there, because top and bottom index both arrays the same way.
+public class WorkStealingDeque<E> implements DataStructure {
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int PADDING = 16; // longs, or two 64-byte cache lines
+    private static final int TOP = PADDING;
+    private static final int BOTTOM = PADDING * 3;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final long[] indices;
+    private volatile Object[] es;
+
+    public WorkStealingDeque() {
+        this(32);
+    }
+
+    public WorkStealingDeque(int capacity) {
+        if (capacity < 1 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException();
+        }
+        this.indices = new long[PADDING * 4];
+        this.es = new Object[capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+    }
+
+    public static void main(String... args) throws InterruptedException {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(4);
+        int count = 1_000_000;
+        int thieves = 3;
+        long[] sums = new long[thieves + 1];
+        Thread[] threads = new Thread[thieves];
+        AtomicBoolean done = new AtomicBoolean();
+        for (int t = 0; t < thieves; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                while (true) {
+                    Integer e = deque.steal();
+                    if (e != null) {
+                        sums[id] += e;
+                    } else if (done.get() && deque.isEmpty()) {
+                        return;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (int i = 1; i <= count; i++) {
+            deque.push(i);
+            if (i % 3 == 0) {
+                Integer e = deque.pop();
+                if (e != null) {
+                    sums[thieves] += e;
+                }
+            }
+        }
+        for (Integer e = deque.pop(); e != null || !deque.isEmpty(); e = deque.pop()) {
+            if (e != null) {
+                sums[thieves] += e;
+            }
+        }
+        done.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long sum = 0;
+        for (long s : sums) {
+            sum += s;
+        }
+        System.out.printf("sum %d (expected %d), owner took %d%n",
+            sum, (long) count * (count + 1) / 2, sums[thieves]);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // a snapshot that may be out of date as soon as it returns
+    @Override
+    public int size() {
+        long top = (long) LONGS.getVolatile(this.indices, TOP);
+        long bottom = (long) LONGS.getVolatile(this.indices, BOTTOM);
+        return (int) Math.max(bottom - top, 0);
+    }
+
+    public int capacity() {
+        return this.es.length;
+    }
+
+    // owner only
+    public void push(E e) {
+        if (e == null) {
+            throw new IllegalArgumentException();
+        }
+        long bottom = (long) LONGS.get(this.indices, BOTTOM);
+        long top = (long) LONGS.getAcquire(this.indices, TOP);
+        Object[] es = this.es;
+        if (bottom - top >= es.length) {
+            es = grow(es, top, bottom);
+        }
+        es[(int) bottom & (es.length - 1)] = e;
+        // publishes the element to thieves together with the new bottom
+        LONGS.setRelease(this.indices, BOTTOM, bottom + 1);
+    }
+
+    // owner only; the newest element, or null if the deque is empty or a thief took the last one
+    public E pop() {
+        long bottom = (long) LONGS.get(this.indices, BOTTOM) - 1;
+        Object[] es = this.es;
+        // reserving the bottom element has to be visible before top is read, hence volatile both ways
+        LONGS.setVolatile(this.indices, BOTTOM, bottom);
+        long top = (long) LONGS.getVolatile(this.indices, TOP);
+        if (top > bottom) {
+            LONGS.setRelease(this.indices, BOTTOM, bottom + 1);
+            return null;
+        }
+        int index = (int) bottom & (es.length - 1);
+        @SuppressWarnings("unchecked")
+        E e = (E) es[index];
+        if (top == bottom) {
+            // the last element: thieves may be after it too, and whoever advances top gets it
+            boolean won = LONGS.compareAndSet(this.indices, TOP, top, top + 1);
+            if (won) {
+                es[index] = null; // faster GC
+            }
+            LONGS.setRelease(this.indices, BOTTOM, bottom + 1);
+            return won ? e : null;
+        }
+        // no thief can reach a slot above top, so this one is the owner's alone
+        es[index] = null; // faster GC
+        return e;
+    }
+
+    // any thread; the oldest element, or null if the deque is empty. A CAS lost to another thread is
+    // retried, so null really means that there was nothing left to take.
+    public E steal() {
+        while (true) {
+            long top = (long) LONGS.getVolatile(this.indices, TOP);
+            long bottom = (long) LONGS.getVolatile(this.indices, BOTTOM);
+            if (top >= bottom) {
+                return null;
+            }
+            Object[] es = this.es;
+            @SuppressWarnings("unchecked")
+            E e = (E) es[(int) top & (es.length - 1)];
+            if (LONGS.compareAndSet(this.indices, TOP, top, top + 1)) {
+                return e;
+            }
+        }
+    }
+
+    // copies the live range into an array twice as large; slots taken by thieves meanwhile are
+    // copied too, which is harmless because top has already moved past them
+    private Object[] grow(Object[] es, long top, long bottom) {
+        if (es.length == MAXIMUM_CAPACITY) {
+            throw new RuntimeException("Queue is full.");
+        }
+        Object[] newEs = new Object[es.length << 1];
+        for (long i = top; i < bottom; i++) {
+            newEs[(int) i & (newEs.length - 1)] = es[(int) i & (es.length - 1)];
+        }
+        this.es = newEs;
+        return newEs;
+    }
+}
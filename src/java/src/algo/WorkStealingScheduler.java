@@ -0,0 +1,368 @@
+package src.algo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// A small fork-join scheduler: every worker owns a WorkStealingDeque, forks push onto the deque of the
+// forking worker and are popped back LIFO, so a worker stays on the freshest, smallest subproblems.
+// A worker that runs dry steals the oldest, largest task of a randomly chosen victim instead. A join
+// never blocks a worker: until the awaited task is done, the worker runs forks of its own and of the
+// other workers. Tasks from outside enter through a shared queue that only idle workers take from,
+// and idle workers park until a fork or a submission wakes them.
+public class WorkStealingScheduler implements AutoCloseable {
+    private static final long PARK_NANOS = 1_000_000L;
+
+    private final Worker[] workers;
+    private final BlockingLinkedQueue<Task<?>> submissions;
+    private final AtomicInteger idleWorkers;
+    private volatile boolean closed;
+
+    public WorkStealingScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public WorkStealingScheduler(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.workers = new Worker[parallelism];
+        this.submissions = new BlockingLinkedQueue<>();
+        this.idleWorkers = new AtomicInteger();
+        this.closed = false;
+        for (int i = 0; i < parallelism; i++) {
+            this.workers[i] = new Worker(this, i);
+        }
+        for (Worker worker : this.workers) {
+            worker.start();
+        }
+    }
+
+    public static void main(String... args) {
+        long[] values = new long[20_000_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        try (WorkStealingScheduler scheduler = new WorkStealingScheduler(4)) {
+            long start = System.nanoTime();
+            long sum = scheduler.invoke(new SumTask(values, 0, values.length));
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("sum %d (expected %d) in %d ms%n",
+                sum, (long) values.length * (values.length - 1) / 2, elapsed / 1_000_000);
+        }
+    }
+
+    public int parallelism() {
+        return this.workers.length;
+    }
+
+    // runs the task on the workers and waits for its result; from a worker it is fork() and join()
+    public <V> V invoke(Task<V> task) {
+        submit(task);
+        return task.join();
+    }
+
+    public <V> Task<V> submit(Task<V> task) {
+        if (this.closed) {
+            throw new IllegalStateException("Scheduler is closed.");
+        }
+        Thread current = Thread.currentThread();
+        if (current instanceof Worker && ((Worker) current).scheduler == this) {
+            return task.fork();
+        }
+        task.scheduler = this;
+        this.submissions.enqueue(task);
+        if (this.closed) {
+            // close() may have drained the submissions between the check above and the enqueue
+            cancelPending();
+            return task;
+        }
+        wakeIdleWorker();
+        return task;
+    }
+
+    // stops the workers; tasks that have not started yet are cancelled, so joining them throws
+    // CancellationException
+    @Override
+    public void close() {
+        this.closed = true;
+        for (Worker worker : this.workers) {
+            LockSupport.unpark(worker);
+        }
+        for (Worker worker : this.workers) {
+            if (worker == Thread.currentThread()) {
+                continue;
+            }
+            boolean interrupted = false;
+            while (worker.isAlive()) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        cancelPending();
+    }
+
+    // cancels the submissions and what is left in the deques of the workers that have exited; a worker
+    // that is still running, such as the one close() was called from, keeps its deque
+    private void cancelPending() {
+        Task<?> task;
+        while ((task = this.submissions.poll()) != null) {
+            task.cancel();
+        }
+        for (Worker worker : this.workers) {
+            if (worker == Thread.currentThread() || worker.isAlive()) {
+                continue;
+            }
+            while ((task = worker.deque.steal()) != null) {
+                task.cancel();
+            }
+        }
+    }
+
+    private void wakeIdleWorker() {
+        if (this.idleWorkers.get() == 0) {
+            return;
+        }
+        for (Worker worker : this.workers) {
+            if (worker.parked) {
+                LockSupport.unpark(worker);
+                return;
+            }
+        }
+    }
+
+    // a task from the other workers' deques, starting at a random victim
+    private Task<?> steal(Worker thief) {
+        int n = this.workers.length;
+        int start = ThreadLocalRandom.current().nextInt(n);
+        for (int i = 0; i < n; i++) {
+            Worker victim = this.workers[(start + i) % n];
+            if (victim == thief) {
+                continue;
+            }
+            Task<?> task = victim.deque.steal();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    // the unit of work: compute() may fork() subtasks and join() them
+    public abstract static class Task<V> {
+        private static final VarHandle WAITERS;
+
+        static {
+            try {
+                WAITERS = MethodHandles.lookup().findVarHandle(Task.class, "waiters", Waiter.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile boolean done;
+        private volatile Waiter waiters; // a stack of the parked joiners, as in FutureTask
+        private WorkStealingScheduler scheduler;
+        private V result;
+        private Throwable failure;
+
+        protected abstract V compute();
+
+        // must be called from a worker; the task runs later on this worker or on a thief
+        public final Task<V> fork() {
+            Thread current = Thread.currentThread();
+            if (!(current instanceof Worker)) {
+                throw new IllegalStateException("Not a worker thread.");
+            }
+            Worker worker = (Worker) current;
+            this.scheduler = worker.scheduler;
+            worker.deque.push(this);
+            worker.scheduler.wakeIdleWorker();
+            return this;
+        }
+
+        // a worker runs other tasks while it waits, any other thread parks
+        public final V join() {
+            Thread current = Thread.currentThread();
+            if (current instanceof Worker && ((Worker) current).scheduler == this.scheduler) {
+                ((Worker) current).helpUntilDone(this);
+            } else {
+                awaitDone(current);
+            }
+            if (this.failure instanceof RuntimeException) {
+                throw (RuntimeException) this.failure;
+            }
+            if (this.failure instanceof Error) {
+                throw (Error) this.failure;
+            }
+            return this.result;
+        }
+
+        public final boolean isDone() {
+            return this.done;
+        }
+
+        final void run() {
+            try {
+                this.result = compute();
+            } catch (RuntimeException | Error e) {
+                this.failure = e;
+            }
+            complete();
+        }
+
+        // for a task that will never run, so that its joiners fail instead of waiting forever
+        final void cancel() {
+            this.failure = new CancellationException("Scheduler is closed.");
+            complete();
+        }
+
+        private void awaitDone(Thread current) {
+            addWaiter(current);
+            while (!this.done) {
+                LockSupport.park(this);
+            }
+        }
+
+        // a joiner that pushes itself after complete() has taken the stack sees done and never parks
+        private void addWaiter(Thread thread) {
+            Waiter waiter = new Waiter(thread);
+            while (!this.done) {
+                waiter.next = this.waiters;
+                if (WAITERS.compareAndSet(this, waiter.next, waiter)) {
+                    return;
+                }
+            }
+        }
+
+        private void complete() {
+            // result and failure are published by the volatile write of done
+            this.done = true;
+            Waiter waiter = (Waiter) WAITERS.getAndSet(this, null);
+            for (; waiter != null; waiter = waiter.next) {
+                LockSupport.unpark(waiter.thread);
+            }
+        }
+    }
+
+    private static class Waiter {
+        final Thread thread;
+        Waiter next;
+
+        Waiter(Thread thread) {
+            this.thread = thread;
+            this.next = null;
+        }
+    }
+
+    private static class Worker extends Thread {
+        final WorkStealingScheduler scheduler;
+        final WorkStealingDeque<Task<?>> deque;
+        volatile boolean parked;
+
+        Worker(WorkStealingScheduler scheduler, int index) {
+            super("work-stealing-worker-" + index);
+            this.scheduler = scheduler;
+            this.deque = new WorkStealingDeque<>();
+            this.parked = false;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!this.scheduler.closed) {
+                Task<?> task = this.deque.pop();
+                if (task == null) {
+                    task = this.scheduler.steal(this);
+                }
+                if (task == null) {
+                    task = this.scheduler.submissions.poll();
+                }
+                if (task != null) {
+                    task.run();
+                } else {
+                    park();
+                }
+            }
+        }
+
+        // never takes a submission: one could be far larger than the awaited task, and it would run
+        // nested on the stack of this join
+        void helpUntilDone(Task<?> awaited) {
+            boolean waiting = false;
+            while (!awaited.isDone()) {
+                Task<?> task = this.deque.pop();
+                if (task == null) {
+                    task = this.scheduler.steal(this);
+                }
+                if (task != null) {
+                    task.run();
+                    continue;
+                }
+                // the awaited task is running on a thief: sleep until it completes, waking up now and
+                // then to help with forks that appeared meanwhile
+                if (!waiting) {
+                    awaited.addWaiter(this);
+                    waiting = true;
+                }
+                if (!awaited.isDone()) {
+                    LockSupport.parkNanos(awaited, PARK_NANOS);
+                }
+            }
+        }
+
+        // a fork or a submission between the announcement and the second look unparks this worker,
+        // and the timeout bounds the delay should a wake-up still be missed
+        private void park() {
+            this.parked = true;
+            this.scheduler.idleWorkers.incrementAndGet();
+            try {
+                if (this.scheduler.submissions.isEmpty() && !this.scheduler.closed) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+            } finally {
+                this.parked = false;
+                this.scheduler.idleWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    private static class SumTask extends Task<Long> {
+        private static final int THRESHOLD = 1 << 14;
+
+        final long[] values;
+        final int from;
+        final int to;
+
+        SumTask(long[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (this.to - this.from <= THRESHOLD) {
+                long sum = 0;
+                for (int i = this.from; i < this.to; i++) {
+                    sum += this.values[i];
+                }
+                return sum;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            SumTask left = new SumTask(this.values, this.from, middle);
+            left.fork();
+            long right = new SumTask(this.values, middle, this.to).compute();
+            return right + left.join();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package src.algo.latency;
+
+// Log-linear histogram over nanosecond values. Values below 128 are recorded exactly; above that
+// every power of two is split into 64 linear sub-buckets, which keeps the relative error under 1.6%
+// from a single nanosecond up to the whole range of a long.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int EXACT_BOUND = SUB_BUCKET_COUNT << 1;
+    private static final int BUCKET_COUNT = indexOf(Long.MAX_VALUE) + 1;
+
+    private final long[] counts;
+    private long count;
+    private long sum;
+    private long min;
+    private long max;
+
+    public LatencyHistogram() {
+        this.counts = new long[BUCKET_COUNT];
+        this.count = 0L;
+        this.sum = 0L;
+        this.min = Long.MAX_VALUE;
+        this.max = 0L;
+    }
+
+    private static int indexOf(long value) {
+        if (value < EXACT_BOUND) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    // the highest value that falls into the bucket, so percentiles never understate a latency
+    private static long highestValueOf(int index) {
+        if (index < EXACT_BOUND) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long top = SUB_BUCKET_COUNT + (index & SUB_BUCKET_MASK);
+        long highest = ((top + 1) << shift) - 1;
+        return highest < 0 ? Long.MAX_VALUE : highest;
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        this.counts[indexOf(value)]++;
+        this.count++;
+        this.sum += value;
+        this.min = Math.min(this.min, value);
+        this.max = Math.max(this.max, value);
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public long getMin() {
+        return this.count == 0L ? 0L : this.min;
+    }
+
+    public long getMax() {
+        return this.max;
+    }
+
+    public double getMean() {
+        return this.count == 0L ? 0.0 : (double) this.sum / this.count;
+    }
+
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException();
+        }
+        if (this.count == 0L) {
+            return 0L;
+        }
+        long rank = Math.max((long) Math.ceil(percentile / 100.0 * this.count), 1L);
+        long seen = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += this.counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), this.max);
+            }
+        }
+        return this.max;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.counts[i] = 0L;
+        }
+        this.count = 0L;
+        this.sum = 0L;
+        this.min = Long.MAX_VALUE;
+        this.max = 0L;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "{count: %d, mean: %.1fns, p50: %dns, p99: %dns, p99.9: %dns, max: %dns}",
+            this.count,
+            getMean(),
+            valueAtPercentile(50.0),
+            valueAtPercentile(99.0),
+            valueAtPercentile(99.9),
+            getMax());
+    }
+}
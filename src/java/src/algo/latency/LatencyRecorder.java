@@ -0,0 +1,73 @@
+package src.algo.latency;
+
+import src.algo.ArrayQueue;
+import src.algo.LinkedQueue;
+import src.algo.Queue;
+
+import java.util.EnumMap;
+
+public class LatencyRecorder {
+    private final EnumMap<Operation, LatencyHistogram> histograms;
+
+    public LatencyRecorder() {
+        this.histograms = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            this.histograms.put(operation, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) {
+        LatencyRecordingQueue<Integer> arrayQueue = new LatencyRecordingQueue<>(new ArrayQueue<>(1));
+        LatencyRecordingQueue<Integer> linkedQueue = new LatencyRecordingQueue<>(new LinkedQueue<>());
+        fillAndDrain(arrayQueue, 10_000);
+        fillAndDrain(linkedQueue, 10_000);
+        System.out.println("ArrayQueue:");
+        System.out.println(arrayQueue.recorder());
+        System.out.println("LinkedQueue:");
+        System.out.println(linkedQueue.recorder());
+    }
+
+    private static void fillAndDrain(Queue<Integer> queue, int count) {
+        for (int i = 0; i < count; i++) {
+            queue.enqueue(i);
+        }
+        while (!queue.isEmpty()) {
+            queue.dequeue();
+        }
+    }
+
+    public void record(Operation operation, long startNanos) {
+        this.histograms.get(operation).record(System.nanoTime() - startNanos);
+    }
+
+    public LatencyHistogram histogram(Operation operation) {
+        return this.histograms.get(operation);
+    }
+
+    public long valueAtPercentile(Operation operation, double percentile) {
+        return this.histograms.get(operation).valueAtPercentile(percentile);
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : this.histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    // one line per operation that has been recorded at least once
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = this.histograms.get(operation);
+            if (histogram.getCount() == 0L) {
+                continue;
+            }
+            builder.append(operation);
+            builder.append(": ");
+            builder.append(histogram);
+            builder.append("\n");
+        }
+        return builder.toString();
+    }
+}
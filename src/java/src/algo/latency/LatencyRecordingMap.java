@@ -0,0 +1,85 @@
+package src.algo.latency;
+
+import src.algo.Map;
+import src.algo.MetricsSnapshot;
+
+public class LatencyRecordingMap<K, V> implements Map<K, V> {
+    private final Map<K, V> map;
+    private final LatencyRecorder recorder;
+
+    public LatencyRecordingMap(Map<K, V> map) {
+        this(map, new LatencyRecorder());
+    }
+
+    public LatencyRecordingMap(Map<K, V> map, LatencyRecorder recorder) {
+        this.map = map;
+        this.recorder = recorder;
+    }
+
+    public LatencyRecorder recorder() {
+        return this.recorder;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.map.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return this.map.size();
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.map.setMetricsEnabled(enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return this.map.metrics();
+    }
+
+    @Override
+    public boolean contains(K key) {
+        long start = System.nanoTime();
+        boolean contained = this.map.contains(key);
+        this.recorder.record(Operation.CONTAINS, start);
+        return contained;
+    }
+
+    @Override
+    public void add(K key, V value) {
+        long start = System.nanoTime();
+        this.map.add(key, value);
+        this.recorder.record(Operation.ADD, start);
+    }
+
+    @Override
+    public V get(K key) {
+        long start = System.nanoTime();
+        V value = this.map.get(key);
+        this.recorder.record(Operation.GET, start);
+        return value;
+    }
+
+    @Override
+    public void set(K key, V value) {
+        long start = System.nanoTime();
+        this.map.set(key, value);
+        this.recorder.record(Operation.SET, start);
+    }
+
+    @Override
+    public V remove(K key) {
+        long start = System.nanoTime();
+        V value = this.map.remove(key);
+        this.recorder.record(Operation.REMOVE, start);
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return this.map.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package src.algo.latency;
+
+import src.algo.MetricsSnapshot;
+import src.algo.Queue;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+public class LatencyRecordingQueue<E> implements Queue<E> {
+    private final Queue<E> queue;
+    private final LatencyRecorder recorder;
+
+    public LatencyRecordingQueue(Queue<E> queue) {
+        this(queue, new LatencyRecorder());
+    }
+
+    public LatencyRecordingQueue(Queue<E> queue, LatencyRecorder recorder) {
+        this.queue = queue;
+        this.recorder = recorder;
+    }
+
+    public LatencyRecorder recorder() {
+        return this.recorder;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.queue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return this.queue.size();
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.queue.setMetricsEnabled(enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return this.queue.metrics();
+    }
+
+    @Override
+    public void enqueue(E e) {
+        long start = System.nanoTime();
+        this.queue.enqueue(e);
+        this.recorder.record(Operation.ENQUEUE, start);
+    }
+
+    @Override
+    public E dequeue() {
+        long start = System.nanoTime();
+        E item = this.queue.dequeue();
+        this.recorder.record(Operation.DEQUEUE, start);
+        return item;
+    }
+
+    @Override
+    public E peek() {
+        long start = System.nanoTime();
+        E item = this.queue.peek();
+        this.recorder.record(Operation.PEEK, start);
+        return item;
+    }
+
+    @Override
+    public String toString() {
+        return this.queue.toString();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return this.queue.iterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return this.queue.spliterator();
+    }
+}
@@ -0,0 +1,70 @@
+package src.algo.latency;
+
+import src.algo.MetricsSnapshot;
+import src.algo.Set;
+
+public class LatencyRecordingSet<E> implements Set<E> {
+    private final Set<E> set;
+    private final LatencyRecorder recorder;
+
+    public LatencyRecordingSet(Set<E> set) {
+        this(set, new LatencyRecorder());
+    }
+
+    public LatencyRecordingSet(Set<E> set, LatencyRecorder recorder) {
+        this.set = set;
+        this.recorder = recorder;
+    }
+
+    public LatencyRecorder recorder() {
+        return this.recorder;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.set.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return this.set.size();
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.set.setMetricsEnabled(enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return this.set.metrics();
+    }
+
+    @Override
+    public void add(E e) {
+        long start = System.nanoTime();
+        this.set.add(e);
+        this.recorder.record(Operation.ADD, start);
+    }
+
+    @Override
+    public boolean remove(E e) {
+        long start = System.nanoTime();
+        boolean removed = this.set.remove(e);
+        this.recorder.record(Operation.REMOVE, start);
+        return removed;
+    }
+
+    @Override
+    public boolean contains(E e) {
+        long start = System.nanoTime();
+        boolean contained = this.set.contains(e);
+        this.recorder.record(Operation.CONTAINS, start);
+        return contained;
+    }
+
+    @Override
+    public String toString() {
+        return this.set.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package src.algo.latency;
+
+import src.algo.MetricsSnapshot;
+import src.algo.Stack;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+public class LatencyRecordingStack<E> implements Stack<E> {
+    private final Stack<E> stack;
+    private final LatencyRecorder recorder;
+
+    public LatencyRecordingStack(Stack<E> stack) {
+        this(stack, new LatencyRecorder());
+    }
+
+    public LatencyRecordingStack(Stack<E> stack, LatencyRecorder recorder) {
+        this.stack = stack;
+        this.recorder = recorder;
+    }
+
+    public LatencyRecorder recorder() {
+        return this.recorder;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.stack.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return this.stack.size();
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.stack.setMetricsEnabled(enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return this.stack.metrics();
+    }
+
+    @Override
+    public void push(E e) {
+        long start = System.nanoTime();
+        this.stack.push(e);
+        this.recorder.record(Operation.PUSH, start);
+    }
+
+    @Override
+    public E pop() {
+        long start = System.nanoTime();
+        E item = this.stack.pop();
+        this.recorder.record(Operation.POP, start);
+        return item;
+    }
+
+    @Override
+    public E peek() {
+        long start = System.nanoTime();
+        E item = this.stack.peek();
+        this.recorder.record(Operation.PEEK, start);
+        return item;
+    }
+
+    @Override
+    public String toString() {
+        return this.stack.toString();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return this.stack.iterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return this.stack.spliterator();
+    }
+}
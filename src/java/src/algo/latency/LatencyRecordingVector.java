@@ -0,0 +1,120 @@
+package src.algo.latency;
+
+import src.algo.MetricsSnapshot;
+import src.algo.Vector;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+public class LatencyRecordingVector<E> implements Vector<E> {
+    private final Vector<E> vector;
+    private final LatencyRecorder recorder;
+
+    public LatencyRecordingVector(Vector<E> vector) {
+        this(vector, new LatencyRecorder());
+    }
+
+    public LatencyRecordingVector(Vector<E> vector, LatencyRecorder recorder) {
+        this.vector = vector;
+        this.recorder = recorder;
+    }
+
+    public LatencyRecorder recorder() {
+        return this.recorder;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.vector.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return this.vector.size();
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        this.vector.setMetricsEnabled(enabled);
+    }
+
+    @Override
+    public MetricsSnapshot metrics() {
+        return this.vector.metrics();
+    }
+
+    @Override
+    public void addLast(E e) {
+        long start = System.nanoTime();
+        this.vector.addLast(e);
+        this.recorder.record(Operation.ADD_LAST, start);
+    }
+
+    @Override
+    public void addFirst(E e) {
+        long start = System.nanoTime();
+        this.vector.addFirst(e);
+        this.recorder.record(Operation.ADD_FIRST, start);
+    }
+
+    @Override
+    public void add(int index, E e) {
+        long start = System.nanoTime();
+        this.vector.add(index, e);
+        this.recorder.record(Operation.ADD, start);
+    }
+
+    @Override
+    public E removeLast() {
+        long start = System.nanoTime();
+        E item = this.vector.removeLast();
+        this.recorder.record(Operation.REMOVE_LAST, start);
+        return item;
+    }
+
+    @Override
+    public E removeFirst() {
+        long start = System.nanoTime();
+        E item = this.vector.removeFirst();
+        this.recorder.record(Operation.REMOVE_FIRST, start);
+        return item;
+    }
+
+    @Override
+    public E remove(int index) {
+        long start = System.nanoTime();
+        E item = this.vector.remove(index);
+        this.recorder.record(Operation.REMOVE, start);
+        return item;
+    }
+
+    @Override
+    public E get(int index) {
+        long start = System.nanoTime();
+        E item = this.vector.get(index);
+        this.recorder.record(Operation.GET, start);
+        return item;
+    }
+
+    @Override
+    public void set(int index, E e) {
+        long start = System.nanoTime();
+        this.vector.set(index, e);
+        this.recorder.record(Operation.SET, start);
+    }
+
+    @Override
+    public String toString() {
+        return this.vector.toString();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return this.vector.iterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return this.vector.spliterator();
+    }
+}
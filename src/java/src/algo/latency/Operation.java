@@ -0,0 +1,18 @@
+package src.algo.latency;
+
+public enum Operation {
+    ADD_LAST,
+    ADD_FIRST,
+    ADD,
+    REMOVE_LAST,
+    REMOVE_FIRST,
+    REMOVE,
+    GET,
+    SET,
+    CONTAINS,
+    ENQUEUE,
+    DEQUEUE,
+    PUSH,
+    POP,
+    PEEK;
+}
@@ -0,0 +1,84 @@
+package src.algo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class CopyOnWriteListTest {
+    @Test
+    void batchPublishesACopy() {
+        CopyOnWriteList<Integer> list = new CopyOnWriteList<>();
+        AtomicReference<ArrayVector<Integer>> kept = new AtomicReference<>();
+        list.batch(vector -> {
+            for (int i = 0; i < 10; i++) {
+                vector.addLast(i);
+            }
+            kept.set(vector);
+        });
+        // a mutation that escapes the batch changes neither the elements nor the size of the list
+        kept.get().set(0, -1);
+        kept.get().addLast(10);
+        assertEquals(10, list.size());
+        assertEquals(0, list.get(0));
+        assertEquals(java.util.List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), list.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void failedBatchPublishesNothing() {
+        CopyOnWriteList<Integer> list = new CopyOnWriteList<>();
+        list.addLast(1);
+        assertThrows(IllegalStateException.class, () -> list.batch(vector -> {
+            vector.addLast(2);
+            throw new IllegalStateException();
+        }));
+        assertEquals(java.util.List.of(1), list.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void onlyLengthChangesCountAsResizes() {
+        CopyOnWriteList<Integer> list = new CopyOnWriteList<>();
+        list.setMetricsEnabled(true);
+        list.addLast(1);
+        list.addLast(2);
+        list.set(0, 3);
+        list.batch(vector -> vector.set(1, 4));
+        assertEquals(2, list.metrics().getResizes());
+        list.batch(vector -> vector.addLast(5));
+        list.removeFirst();
+        assertEquals(4, list.metrics().getResizes());
+        assertEquals(java.util.List.of(4, 5), list.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    @Timeout(value = 30, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void readersSeeWholeBatches() throws InterruptedException {
+        CopyOnWriteList<Integer> list = new CopyOnWriteList<>();
+        Thread writer = new Thread(() -> {
+            for (int round = 1; round <= 2000; round++) {
+                int value = round;
+                // every batch replaces all ten elements with the same value
+                list.batch(vector -> {
+                    while (!vector.isEmpty()) {
+                        vector.removeLast();
+                    }
+                    for (int i = 0; i < 10; i++) {
+                        vector.addLast(value);
+                    }
+                });
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            java.util.List<Integer> seen = list.stream().collect(Collectors.toList());
+            assertTrue(seen.isEmpty() || (seen.size() == 10 && seen.stream().distinct().count() == 1), seen::toString);
+        }
+        writer.join();
+        assertEquals(java.util.Collections.nCopies(10, 2000), list.stream().collect(Collectors.toList()));
+    }
+}
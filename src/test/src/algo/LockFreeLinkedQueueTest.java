@@ -0,0 +1,187 @@
+package src.algo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class LockFreeLinkedQueueTest {
+    private static final int PRODUCERS = 4;
+    private static final int COUNT = 50_000;
+
+    @Test
+    void singleThreadedFifo() {
+        LockFreeLinkedQueue<Integer> queue = new LockFreeLinkedQueue<>();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertThrows(NoSuchElementException.class, queue::dequeue);
+        assertThrows(NoSuchElementException.class, queue::peek);
+        assertThrows(IllegalArgumentException.class, () -> queue.enqueue(null));
+        queue.enqueue(0);
+        queue.enqueueAll(new Integer[] {-1, 1, 2, 3, -1}, 1, 3);
+        queue.enqueue(4);
+        assertEquals(5, queue.size());
+        assertEquals(java.util.List.of(0, 1, 2, 3, 4), queue.stream().collect(Collectors.toList()));
+        assertEquals(0, queue.peek());
+        assertEquals(0, queue.dequeue());
+        java.util.List<Integer> drained = new java.util.ArrayList<>();
+        assertEquals(2, queue.drainTo(drained::add, 2));
+        assertEquals(java.util.List.of(1, 2), drained);
+        Integer[] rest = new Integer[4];
+        assertEquals(2, queue.dequeueInto(rest));
+        assertEquals(3, rest[0]);
+        assertEquals(4, rest[1]);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void enqueueAllLinksNothingOnNull() {
+        LockFreeLinkedQueue<Integer> queue = new LockFreeLinkedQueue<>();
+        assertThrows(IllegalArgumentException.class, () -> queue.enqueueAll(new Integer[] {1, null}, 0, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.enqueueAll(new Integer[2], 1, 2));
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void keepsTheOrderOfEachProducer() throws InterruptedException {
+        LockFreeLinkedQueue<Item> queue = new LockFreeLinkedQueue<>();
+        Thread[] producers = startProducers(queue);
+        int[] next = new int[PRODUCERS];
+        for (int received = 0; received < PRODUCERS * COUNT; ) {
+            Item item = queue.poll();
+            if (item == null) {
+                Thread.yield();
+                continue;
+            }
+            // the plain fields written before the element was linked have to be visible
+            assertEquals(next[item.producer]++, item.sequence);
+            assertEquals(item.sequence * 31 + item.producer, item.payload);
+            received++;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void manyConsumersTakeEveryElementOnce() throws InterruptedException {
+        LockFreeLinkedQueue<Item> queue = new LockFreeLinkedQueue<>();
+        AtomicIntegerArray taken = new AtomicIntegerArray(PRODUCERS * COUNT);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] consumers = new Thread[4];
+        int share = PRODUCERS * COUNT / consumers.length;
+        for (int c = 0; c < consumers.length; c++) {
+            consumers[c] = new Thread(() -> {
+                try {
+                    int[] last = new int[PRODUCERS];
+                    java.util.Arrays.fill(last, -1);
+                    for (int received = 0; received < share; ) {
+                        Item item = queue.poll();
+                        if (item == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        assertTrue(item.sequence > last[item.producer]);
+                        last[item.producer] = item.sequence;
+                        assertEquals(1, taken.incrementAndGet(item.producer * COUNT + item.sequence));
+                        received++;
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            consumers[c].start();
+        }
+        Thread[] producers = startProducers(queue);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        for (Thread consumer : consumers) {
+            consumer.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        for (int i = 0; i < taken.length(); i++) {
+            assertEquals(1, taken.get(i));
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void iteratorKeepsTheOrderOfEachProducer() throws InterruptedException {
+        LockFreeLinkedQueue<Item> queue = new LockFreeLinkedQueue<>();
+        Thread[] producers = startProducers(queue);
+        Thread consumer = new Thread(() -> {
+            for (int received = 0; received < PRODUCERS * COUNT; ) {
+                if (queue.poll() != null) {
+                    received++;
+                } else {
+                    Thread.yield();
+                }
+            }
+        });
+        consumer.start();
+        while (consumer.isAlive()) {
+            int[] last = new int[PRODUCERS];
+            java.util.Arrays.fill(last, -1);
+            // a dequeued node sends the iterator back to head, which must never repeat an element
+            for (Item item : queue) {
+                assertTrue(item.sequence > last[item.producer]);
+                last[item.producer] = item.sequence;
+            }
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    // every producer links its elements alternately one at a time and as chains of up to eight
+    private static Thread[] startProducers(LockFreeLinkedQueue<Item> queue) {
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            producers[p] = new Thread(() -> {
+                Item[] chain = new Item[8];
+                for (int i = 0; i < COUNT; ) {
+                    int length = (i & 1) == 0 ? 1 : Math.min(1 + i % chain.length, COUNT - i);
+                    for (int j = 0; j < length; j++) {
+                        Item item = new Item();
+                        item.producer = producer;
+                        item.sequence = i + j;
+                        item.payload = (i + j) * 31 + producer;
+                        chain[j] = item;
+                    }
+                    if (length == 1) {
+                        queue.enqueue(chain[0]);
+                    } else {
+                        queue.enqueueAll(chain, 0, length);
+                    }
+                    i += length;
+                }
+            });
+            producers[p].start();
+        }
+        return producers;
+    }
+
+    private static class Item {
+        int producer;
+        int sequence;
+        int payload;
+    }
+}
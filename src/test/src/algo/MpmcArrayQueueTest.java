@@ -0,0 +1,178 @@
+package src.algo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class MpmcArrayQueueTest {
+    private static final int PRODUCERS = 4;
+    private static final int COUNT = 50_000;
+
+    @Test
+    void singleThreadedFifo() {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(3);
+        assertEquals(4, queue.capacity());
+        assertNull(queue.poll());
+        assertThrows(NoSuchElementException.class, queue::dequeue);
+        assertThrows(NoSuchElementException.class, queue::peek);
+        assertThrows(IllegalArgumentException.class, () -> queue.offer(null));
+        // wraps around the array several times
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(queue.offer(round * 4 + i));
+            }
+            assertFalse(queue.offer(-1));
+            assertThrows(RuntimeException.class, () -> queue.enqueue(-1));
+            assertEquals(4, queue.size());
+            assertEquals(round * 4, queue.peek());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(round * 4 + i, queue.dequeue());
+            }
+            assertTrue(queue.isEmpty());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new MpmcArrayQueue<>(1));
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void keepsTheOrderOfEachProducer() throws InterruptedException {
+        MpmcArrayQueue<Item> queue = new MpmcArrayQueue<>(64);
+        Thread[] producers = startProducers(queue);
+        int[] next = new int[PRODUCERS];
+        for (int received = 0; received < PRODUCERS * COUNT; ) {
+            Item item = queue.poll();
+            if (item == null) {
+                Thread.yield();
+                continue;
+            }
+            // the plain fields written before offer() have to be visible to the consumer
+            assertEquals(next[item.producer]++, item.sequence);
+            assertEquals(item.sequence * 31 + item.producer, item.payload);
+            received++;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void manyConsumersTakeEveryElementOnce() throws InterruptedException {
+        MpmcArrayQueue<Item> queue = new MpmcArrayQueue<>(64);
+        AtomicIntegerArray taken = new AtomicIntegerArray(PRODUCERS * COUNT);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] consumers = new Thread[4];
+        int share = PRODUCERS * COUNT / consumers.length;
+        for (int c = 0; c < consumers.length; c++) {
+            consumers[c] = new Thread(() -> {
+                try {
+                    int[] last = new int[PRODUCERS];
+                    java.util.Arrays.fill(last, -1);
+                    Item[] batch = new Item[16];
+                    for (int received = 0; received < share; ) {
+                        int count = received + batch.length <= share ? queue.dequeueInto(batch) : 0;
+                        if (count == 0) {
+                            Item item = queue.poll();
+                            if (item == null) {
+                                Thread.yield();
+                                continue;
+                            }
+                            batch[0] = item;
+                            count = 1;
+                        }
+                        for (int i = 0; i < count; i++) {
+                            Item item = batch[i];
+                            // one consumer still sees the elements of one producer in order
+                            assertTrue(item.sequence > last[item.producer]);
+                            last[item.producer] = item.sequence;
+                            assertEquals(item.sequence * 31 + item.producer, item.payload);
+                            assertEquals(1, taken.incrementAndGet(item.producer * COUNT + item.sequence));
+                        }
+                        received += count;
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            consumers[c].start();
+        }
+        Thread[] producers = startProducers(queue);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        for (Thread consumer : consumers) {
+            consumer.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        for (int i = 0; i < taken.length(); i++) {
+            assertEquals(1, taken.get(i));
+        }
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void iteratorKeepsTheOrderOfEachProducer() throws InterruptedException {
+        MpmcArrayQueue<Item> queue = new MpmcArrayQueue<>(64);
+        Thread[] producers = startProducers(queue);
+        Thread consumer = new Thread(() -> {
+            for (int received = 0; received < PRODUCERS * COUNT; ) {
+                if (queue.poll() != null) {
+                    received++;
+                } else {
+                    Thread.yield();
+                }
+            }
+        });
+        consumer.start();
+        while (consumer.isAlive()) {
+            int[] last = new int[PRODUCERS];
+            java.util.Arrays.fill(last, -1);
+            for (Item item : queue) {
+                assertTrue(item.sequence > last[item.producer]);
+                last[item.producer] = item.sequence;
+            }
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertFalse(queue.iterator().hasNext());
+    }
+
+    private static Thread[] startProducers(MpmcArrayQueue<Item> queue) {
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < COUNT; i++) {
+                    Item item = new Item();
+                    item.producer = producer;
+                    item.sequence = i;
+                    item.payload = i * 31 + producer;
+                    while (!queue.offer(item)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers[p].start();
+        }
+        return producers;
+    }
+
+    private static class Item {
+        int producer;
+        int sequence;
+        int payload;
+    }
+}
@@ -0,0 +1,140 @@
+package src.algo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapVectorTest {
+    @Test
+    void movesAcrossChunkBoundaries() {
+        // 64 records of 16 KiB per chunk, so a move within a chunk also goes through several scratch buffers
+        try (OffHeapVector<Integer> vector = new OffHeapVector<>(new IntCodec(1 << 14))) {
+            java.util.List<Integer> expected = new java.util.ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                vector.addLast(i);
+                expected.add(i);
+            }
+            for (int index : new int[] {0, 63, 64, 65, 127, 128, 150, 199}) {
+                vector.add(index, -index);
+                expected.add(index, -index);
+                assertContents(expected, vector);
+            }
+            for (int index : new int[] {0, 63, 64, 65, 127, 128, 150}) {
+                assertEquals(expected.remove(index), vector.remove(index));
+                assertContents(expected, vector);
+            }
+            while (!expected.isEmpty()) {
+                assertEquals(expected.remove(0), vector.removeFirst());
+            }
+            assertEquals(0, vector.size());
+        }
+    }
+
+    @Test
+    void matchesArrayList() {
+        Random random = new Random(7);
+        // 256 records per chunk, of a size that is not a power of two
+        try (OffHeapVector<Integer> vector = new OffHeapVector<>(new IntCodec(3000))) {
+            java.util.List<Integer> expected = new java.util.ArrayList<>();
+            for (int step = 0; step < 5000; step++) {
+                int operation = random.nextInt(10);
+                int size = expected.size();
+                if (operation < 4 || size == 0) {
+                    int index = random.nextInt(size + 1);
+                    int e = random.nextInt();
+                    vector.add(index, e);
+                    expected.add(index, e);
+                } else if (operation < 6) {
+                    int e = random.nextInt();
+                    vector.addLast(e);
+                    expected.add(e);
+                } else if (operation < 8) {
+                    int index = random.nextInt(size);
+                    assertEquals(expected.remove(index), vector.remove(index));
+                } else if (operation < 9) {
+                    int index = random.nextInt(size);
+                    int e = random.nextInt();
+                    vector.set(index, e);
+                    expected.set(index, e);
+                } else {
+                    int index = random.nextInt(size);
+                    assertEquals(expected.get(index), vector.get(index));
+                }
+                assertEquals(expected.size(), vector.size());
+            }
+            assertContents(expected, vector);
+        }
+    }
+
+    @Test
+    void addAllCopiesAcrossChunks() {
+        try (OffHeapVector<Integer> vector = new OffHeapVector<>(new IntCodec(1 << 14));
+             OffHeapVector<Integer> other = new OffHeapVector<>(new IntCodec(1 << 14))) {
+            java.util.List<Integer> expected = new java.util.ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                vector.addLast(i);
+                expected.add(i);
+            }
+            for (int i = 0; i < 150; i++) {
+                other.addLast(1000 + i);
+                expected.add(1000 + i);
+            }
+            vector.addAll(other);
+            assertContents(expected, vector);
+            assertThrows(IllegalArgumentException.class, () -> vector.addAll(vector));
+            assertThrows(IllegalArgumentException.class,
+                () -> vector.addAll(new OffHeapVector<>(new IntCodec(8))));
+        }
+    }
+
+    @Test
+    void boundsAndCloseAreChecked() {
+        OffHeapVector<Integer> vector = new OffHeapVector<>(new IntCodec(8));
+        vector.addLast(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.add(3, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.remove(-1));
+        vector.close();
+        vector.close();
+        assertThrows(IllegalStateException.class, () -> vector.get(0));
+    }
+
+    private static void assertContents(java.util.List<Integer> expected, OffHeapVector<Integer> vector) {
+        assertEquals(expected.size(), vector.size());
+        int i = 0;
+        for (Integer e : vector) {
+            assertEquals(expected.get(i++), e);
+        }
+    }
+
+    // writes the value at both ends of the record, so a record that was moved only in part is caught
+    private static class IntCodec implements RecordCodec<Integer> {
+        private final int recordSize;
+
+        IntCodec(int recordSize) {
+            this.recordSize = recordSize;
+        }
+
+        @Override
+        public int recordSize() {
+            return this.recordSize;
+        }
+
+        @Override
+        public void encode(Integer e, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, e);
+            buffer.putInt(offset + this.recordSize - 4, ~e);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int offset) {
+            int e = buffer.getInt(offset);
+            assertEquals(~e, buffer.getInt(offset + this.recordSize - 4));
+            return e;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package src.algo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class PersistentVectorTest {
+    // the ends of the tail, of the first trie level and of the second one
+    private static final int[] BOUNDARIES = {0, 1, 31, 32, 33, 63, 64, 65, 1055, 1056, 1057, 1088, 1089, 32800, 33825};
+
+    @Test
+    void emptyVector() {
+        PersistentVector<Integer> empty = PersistentVector.empty();
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.size());
+        assertFalse(empty.iterator().hasNext());
+        assertEquals(0, empty.stream().count());
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.set(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, empty::removeLast);
+        assertTrue(PersistentVector.of().isEmpty());
+        assertSame(empty, empty.addLast(1).removeLast());
+    }
+
+    @Test
+    void growsAndShrinksAcrossBoundaries() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        java.util.List<PersistentVector<Integer>> versions = new java.util.ArrayList<>();
+        int max = BOUNDARIES[BOUNDARIES.length - 1];
+        for (int i = 0; i <= max; i++) {
+            versions.add(vector);
+            vector = vector.addLast(i);
+        }
+        for (int size : BOUNDARIES) {
+            assertContents(versions.get(size), size);
+            assertThrows(IndexOutOfBoundsException.class, () -> versions.get(size).get(size));
+            assertThrows(IndexOutOfBoundsException.class, () -> versions.get(size).get(-1));
+        }
+        // popping back down has to give the same vectors as growing did
+        for (int size = max + 1; size > 0; size--) {
+            vector = vector.removeLast();
+            if (size % 97 == 0 || contains(BOUNDARIES, size - 1)) {
+                assertContents(vector, size - 1);
+                assertContents(vector.addLast(size - 1), size);
+            }
+        }
+        assertTrue(vector.isEmpty());
+    }
+
+    @Test
+    void setLeavesOldVersionsAlone() {
+        PersistentVector<Integer> vector = PersistentVector.copyOf(range(1100));
+        PersistentVector<Integer> changed = vector;
+        for (int index : new int[] {0, 31, 32, 1023, 1024, 1055, 1056, 1099}) {
+            changed = changed.set(index, -index);
+        }
+        assertContents(vector, 1100);
+        for (int i = 0; i < 1100; i++) {
+            boolean set = i == 0 || i == 31 || i == 32 || i == 1023 || i == 1024 || i == 1055 || i == 1056 || i == 1099;
+            assertEquals(set ? -i : i, changed.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.set(1100, 0));
+    }
+
+    @Test
+    void builderStartsFromAnyVector() {
+        for (int size : BOUNDARIES) {
+            PersistentVector<Integer> vector = PersistentVector.copyOf(range(size));
+            PersistentVector.Builder<Integer> builder = vector.toBuilder();
+            for (int i = size; i < size + 40; i++) {
+                builder.addLast(i);
+            }
+            if (size > 0) {
+                builder.set(0, -1);
+                builder.set(size - 1, -1);
+            }
+            PersistentVector<Integer> built = builder.build();
+            // the vector the builder started from is not changed through shared nodes
+            assertContents(vector, size);
+            assertEquals(size + 40, built.size());
+            for (int i = 0; i < size + 40; i++) {
+                int expected = size > 0 && (i == 0 || i == size - 1) ? -1 : i;
+                assertEquals(expected, built.get(i));
+            }
+        }
+    }
+
+    @Test
+    void builderIsRetiredByBuild() {
+        PersistentVector.Builder<Integer> builder = PersistentVector.<Integer>empty().toBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.addLast(i);
+        }
+        assertEquals(100, builder.size());
+        assertEquals(50, builder.get(50));
+        assertThrows(IndexOutOfBoundsException.class, () -> builder.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> builder.set(-1, 0));
+        PersistentVector<Integer> built = builder.build();
+        assertThrows(IllegalStateException.class, () -> builder.addLast(100));
+        assertThrows(IllegalStateException.class, () -> builder.set(0, 0));
+        assertThrows(IllegalStateException.class, builder::build);
+        assertContents(built, 100);
+        // a new builder from the built vector does not write into its nodes
+        PersistentVector<Integer> other = built.toBuilder().set(0, -1).set(99, -1).build();
+        assertContents(built, 100);
+        assertEquals(-1, other.get(0));
+        assertEquals(-1, other.get(99));
+    }
+
+    @Test
+    void matchesArrayList() {
+        Random random = new Random(8);
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 6 || expected.isEmpty()) {
+                int e = random.nextInt();
+                vector = vector.addLast(e);
+                expected.add(e);
+            } else if (operation < 8) {
+                vector = vector.removeLast();
+                expected.remove(expected.size() - 1);
+            } else {
+                int index = random.nextInt(expected.size());
+                int e = random.nextInt();
+                vector = vector.set(index, e);
+                expected.set(index, e);
+            }
+            assertEquals(expected.size(), vector.size());
+        }
+        assertEquals(expected, vector.stream().collect(Collectors.toList()));
+        assertEquals(expected, vector.parallelStream().collect(Collectors.toList()));
+    }
+
+    private static java.util.List<Integer> range(int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    private static boolean contains(int[] a, int key) {
+        for (int e : a) {
+            if (e == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void assertContents(PersistentVector<Integer> vector, int size) {
+        assertEquals(size, vector.size());
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, vector.get(i));
+        }
+        int i = 0;
+        for (Integer e : vector) {
+            assertEquals(i++, e);
+        }
+        assertEquals(size, i);
+        assertEquals(range(size), vector.stream().collect(Collectors.toList()));
+    }
+}
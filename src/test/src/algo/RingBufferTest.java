@@ -0,0 +1,109 @@
+package src.algo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class RingBufferTest {
+    @Test
+    void overwriteOldestKeepsTheLatest() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4, OverflowPolicy.OVERWRITE_OLDEST);
+        for (int i = 0; i < 10; i++) {
+            buffer.enqueue(i);
+        }
+        assertEquals(4, buffer.size());
+        assertEquals(6, buffer.overwritten());
+        assertEquals(java.util.List.of(6, 7, 8, 9), buffer.stream().collect(Collectors.toList()));
+        assertEquals(6, buffer.dequeue());
+        assertTrue(buffer.offer(10));
+        assertTrue(buffer.offer(11));
+        assertEquals(7, buffer.overwritten());
+        assertEquals(java.util.List.of(8, 9, 10, 11), buffer.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void rejectNewestThrowsFromEnqueue() throws InterruptedException {
+        RingBuffer<Integer> buffer = new RingBuffer<>(2, OverflowPolicy.REJECT_NEWEST);
+        buffer.enqueue(0);
+        assertTrue(buffer.offer(1));
+        assertFalse(buffer.offer(2));
+        assertThrows(RuntimeException.class, () -> buffer.enqueue(3));
+        assertThrows(RuntimeException.class, () -> buffer.put(4));
+        assertEquals(3, buffer.rejected());
+        assertEquals(java.util.List.of(0, 1), buffer.stream().collect(Collectors.toList()));
+        assertEquals(0, buffer.poll());
+        buffer.enqueue(5);
+        assertEquals(java.util.List.of(1, 5), buffer.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    @Timeout(value = 30, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void blockWaitsForRoom() throws InterruptedException {
+        RingBuffer<Integer> buffer = new RingBuffer<>(2, OverflowPolicy.BLOCK);
+        buffer.enqueue(0);
+        buffer.enqueue(1);
+        assertFalse(buffer.offer(2));
+        Thread producer = new Thread(() -> {
+            for (int i = 2; i < 100; i++) {
+                buffer.enqueue(i);
+            }
+        });
+        producer.start();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, buffer.take());
+        }
+        producer.join();
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.rejected());
+        assertEquals(0, buffer.overwritten());
+    }
+
+    @Test
+    void iteratorSkipsWhatWasOverwritten() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4, OverflowPolicy.OVERWRITE_OLDEST);
+        for (int i = 0; i < 4; i++) {
+            buffer.enqueue(i);
+        }
+        Iterator<Integer> iterator = buffer.iterator();
+        buffer.enqueue(4);
+        buffer.enqueue(5);
+        // 0 was read ahead when the iterator was created, 1 has been overwritten since, and 4 and 5
+        // came after the iterator
+        assertEquals(0, iterator.next());
+        assertEquals(2, iterator.next());
+        assertEquals(3, iterator.next());
+        assertFalse(iterator.hasNext());
+
+        iterator = buffer.iterator();
+        buffer.poll();
+        buffer.poll();
+        buffer.poll();
+        buffer.poll();
+        // the element read ahead is still returned; the dequeued ones after it are not
+        assertEquals(2, iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void snapshotDetectsOverwrites() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3, OverflowPolicy.OVERWRITE_OLDEST);
+        for (int i = 0; i < 3; i++) {
+            buffer.enqueue(i);
+        }
+        ReadableVector<Integer> window = buffer.snapshot();
+        buffer.enqueue(3);
+        assertThrows(ConcurrentModificationException.class, () -> window.get(0));
+        assertEquals(1, window.get(1));
+        assertEquals(2, window.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> window.get(3));
+    }
+}
@@ -0,0 +1,199 @@
+package src.algo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SortTest {
+    private static final int[] SIZES = {0, 1, 2, 31, 32, 33, 64, 65, 1000, 5000};
+    private static final Comparator<int[]> BY_KEY = Comparator.comparingInt(e -> e[0]);
+
+    @Test
+    void timSortIsStable() {
+        Random random = new Random(1);
+        for (int size : SIZES) {
+            for (int shape = 0; shape < 4; shape++) {
+                int[][] a = keyed(random, size, shape);
+                Sort.sort(a, BY_KEY);
+                assertStable(a, 0, a.length);
+            }
+        }
+    }
+
+    @Test
+    void parallelSortIsStable() {
+        Random random = new Random(2);
+        for (int shape = 0; shape < 4; shape++) {
+            int[][] a = keyed(random, 100_000, shape);
+            Sort.parallelSort(a, BY_KEY);
+            assertStable(a, 0, a.length);
+        }
+    }
+
+    @Test
+    void sortLeavesTheRestOfTheArrayAlone() {
+        Random random = new Random(3);
+        for (int size : SIZES) {
+            int[][] a = keyed(random, size, 0);
+            int fromIndex = size / 4;
+            int toIndex = size - size / 3;
+            int[][] expected = a.clone();
+            Arrays.sort(expected, fromIndex, toIndex, BY_KEY);
+            Sort.sort(a, fromIndex, toIndex, BY_KEY);
+            assertArrayEquals(expected, a);
+            assertStable(a, fromIndex, toIndex);
+
+            int[][] b = keyed(random, size, 1);
+            expected = b.clone();
+            Arrays.sort(expected, fromIndex, toIndex, BY_KEY);
+            Sort.parallelSort(b, fromIndex, toIndex, BY_KEY);
+            assertArrayEquals(expected, b);
+        }
+    }
+
+    @Test
+    void badRangesAreRejected() {
+        Integer[] a = {3, 1, 2};
+        assertThrows(IllegalArgumentException.class, () -> Sort.sort(a, 2, 1, Comparator.naturalOrder()));
+        assertThrows(IndexOutOfBoundsException.class, () -> Sort.sort(a, -1, 2, Comparator.naturalOrder()));
+        assertThrows(IndexOutOfBoundsException.class, () -> Sort.sort(a, 0, 4, Comparator.naturalOrder()));
+        assertThrows(IndexOutOfBoundsException.class,
+            () -> Sort.parallelSort(a, 0, 4, Comparator.naturalOrder()));
+        int[] ints = {3, 1, 2};
+        assertThrows(IllegalArgumentException.class, () -> Sort.sort(ints, 2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> Sort.lsdRadixSort(ints, -1, 2));
+        long[] longs = {3, 1, 2};
+        assertThrows(IndexOutOfBoundsException.class, () -> Sort.sort(longs, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> Sort.lsdRadixSort(longs, 3, 2));
+        assertArrayEquals(new Integer[] {3, 1, 2}, a);
+        assertArrayEquals(new int[] {3, 1, 2}, ints);
+        assertArrayEquals(new long[] {3, 1, 2}, longs);
+    }
+
+    @Test
+    void radixSortsMatchArraysSort() {
+        Random random = new Random(4);
+        for (int size : SIZES) {
+            for (int bound : new int[] {0, 3, 1000}) {
+                int[] ints = new int[size];
+                long[] longs = new long[size];
+                for (int i = 0; i < size; i++) {
+                    ints[i] = bound == 0 ? random.nextInt() : random.nextInt(2 * bound + 1) - bound;
+                    longs[i] = bound == 0 ? random.nextLong() : random.nextInt(2 * bound + 1) - bound;
+                }
+                if (size > 2) {
+                    ints[0] = Integer.MIN_VALUE;
+                    ints[1] = Integer.MAX_VALUE;
+                    longs[0] = Long.MIN_VALUE;
+                    longs[1] = Long.MAX_VALUE;
+                }
+                int fromIndex = size / 5;
+                int toIndex = size - size / 7;
+
+                int[] expectedInts = ints.clone();
+                Arrays.sort(expectedInts, fromIndex, toIndex);
+                int[] msd = ints.clone();
+                Sort.sort(msd, fromIndex, toIndex);
+                assertArrayEquals(expectedInts, msd);
+                int[] lsd = ints.clone();
+                Sort.lsdRadixSort(lsd, fromIndex, toIndex);
+                assertArrayEquals(expectedInts, lsd);
+
+                long[] expectedLongs = longs.clone();
+                Arrays.sort(expectedLongs, fromIndex, toIndex);
+                long[] msdLongs = longs.clone();
+                Sort.sort(msdLongs, fromIndex, toIndex);
+                assertArrayEquals(expectedLongs, msdLongs);
+                long[] lsdLongs = longs.clone();
+                Sort.lsdRadixSort(lsdLongs, fromIndex, toIndex);
+                assertArrayEquals(expectedLongs, lsdLongs);
+
+                Arrays.sort(ints);
+                int[] whole = ints.clone();
+                Sort.sort(whole);
+                assertArrayEquals(ints, whole);
+            }
+        }
+    }
+
+    @Test
+    void vectorsAreSortedStably() {
+        Random random = new Random(5);
+        for (int size : SIZES) {
+            int[][] a = keyed(random, size, 2);
+            java.util.List<int[]> expected = new java.util.ArrayList<>(Arrays.asList(a));
+            expected.sort(BY_KEY);
+
+            Vector<int[]> arrayVector = new ArrayVector<>(size);
+            Vector<int[]> singly = new SinglyLinkedList<>();
+            Vector<int[]> doubly = new DoublyLinkedList<>();
+            for (int[] e : a) {
+                arrayVector.addLast(e);
+                singly.addLast(e);
+                doubly.addLast(e);
+            }
+            for (Vector<int[]> vector : java.util.List.of(arrayVector, singly, doubly)) {
+                Sort.sort(vector, BY_KEY);
+                assertEquals(expected.size(), vector.size());
+                int i = 0;
+                for (int[] e : vector) {
+                    assertEquals(expected.get(i++), e);
+                }
+                // the list has to stay usable at both ends after its nodes were relinked
+                vector.addLast(new int[] {Integer.MAX_VALUE, 0});
+                assertEquals(Integer.MAX_VALUE, vector.get(size)[0]);
+            }
+        }
+    }
+
+    @Test
+    void intVectorIsSorted() {
+        Random random = new Random(6);
+        int[] es = random.ints(3000).toArray();
+        IntVector vector = new IntVector(es.clone());
+        Sort.sort(vector);
+        Arrays.sort(es);
+        for (int i = 0; i < es.length; i++) {
+            assertEquals(es[i], vector.get(i));
+        }
+    }
+
+    // pairs of a key and their original position; the shapes are random keys, few distinct keys,
+    // ascending runs and descending runs with ties
+    private static int[][] keyed(Random random, int size, int shape) {
+        int[][] a = new int[size][];
+        for (int i = 0; i < size; i++) {
+            int key;
+            switch (shape) {
+                case 0:
+                    key = random.nextInt();
+                    break;
+                case 1:
+                    key = random.nextInt(4);
+                    break;
+                case 2:
+                    key = (i % 100) / 3;
+                    break;
+                default:
+                    key = -((i % 70) / 2);
+                    break;
+            }
+            a[i] = new int[] {key, i};
+        }
+        return a;
+    }
+
+    private static void assertStable(int[][] a, int fromIndex, int toIndex) {
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            if (a[i - 1][0] > a[i][0] || (a[i - 1][0] == a[i][0] && a[i - 1][1] > a[i][1])) {
+                throw new AssertionError("out of order at " + i);
+            }
+        }
+    }
+}
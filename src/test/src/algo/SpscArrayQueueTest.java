@@ -0,0 +1,144 @@
+package src.algo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class SpscArrayQueueTest {
+    private static final int COUNT = 300_000;
+
+    @Test
+    void singleThreadedFifo() {
+        SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(5);
+        assertEquals(8, queue.capacity());
+        assertNull(queue.poll());
+        assertThrows(NoSuchElementException.class, queue::dequeue);
+        assertThrows(IllegalArgumentException.class, () -> queue.offer(null));
+        for (int round = 0; round < 10; round++) {
+            assertEquals(5, queue.offerAll(new Integer[] {0, 1, 2, 3, 4}, 0, 5));
+            // only three of these fit, and the queue stays as it was when all of them are required
+            assertThrows(RuntimeException.class, () -> queue.enqueueAll(new Integer[] {5, 6, 7, 8}, 0, 4));
+            assertEquals(3, queue.offerAll(new Integer[] {5, 6, 7, 8}, 0, 4));
+            assertFalse(queue.offer(9));
+            assertEquals(java.util.List.of(0, 1, 2, 3, 4, 5, 6, 7),
+                queue.stream().collect(Collectors.toList()));
+            assertEquals(0, queue.peek());
+            assertEquals(0, queue.dequeue());
+            java.util.List<Integer> drained = new java.util.ArrayList<>();
+            assertEquals(3, queue.drain(drained::add, 3));
+            assertEquals(java.util.List.of(1, 2, 3), drained);
+            Integer[] rest = new Integer[8];
+            assertEquals(4, queue.dequeueInto(rest));
+            assertArrayEquals(new Integer[] {4, 5, 6, 7, null, null, null, null}, rest);
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    void offerAllStopsAtNull() {
+        SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(8);
+        assertThrows(IllegalArgumentException.class, () -> queue.offerAll(new Integer[] {1, 2, null, 4}, 0, 4));
+        assertEquals(2, queue.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.offerAll(new Integer[2], 1, 2));
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void batchesArriveInOrder() throws InterruptedException {
+        SpscArrayQueue<Item> queue = new SpscArrayQueue<>(256);
+        Thread producer = startProducer(queue);
+        int[] next = new int[1];
+        while (next[0] < COUNT) {
+            int count = queue.drain(item -> {
+                // the plain fields written before the batch was published have to be visible
+                assertEquals(next[0]++, item.sequence);
+                assertEquals(item.sequence * 31, item.payload);
+            }, 100);
+            if (count == 0) {
+                Thread.yield();
+            }
+        }
+        producer.join();
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void iteratorSeesNoNullsDuringADrain() throws InterruptedException {
+        SpscArrayQueue<Item> queue = new SpscArrayQueue<>(256);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread producer = startProducer(queue);
+        Thread consumer = new Thread(() -> {
+            try {
+                int[] next = new int[1];
+                while (next[0] < COUNT) {
+                    // large batches keep their slots cleared but unpublished for as long as possible
+                    if (queue.drain(item -> assertEquals(next[0]++, item.sequence), 200) == 0) {
+                        Thread.yield();
+                    }
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        consumer.start();
+        long snapshots = 0;
+        while (consumer.isAlive()) {
+            int last = -1;
+            for (Item item : queue) {
+                assertNotNull(item);
+                assertTrue(item.sequence > last);
+                last = item.sequence;
+            }
+            assertTrue(queue.stream().allMatch(item -> item != null));
+            snapshots++;
+        }
+        producer.join();
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertTrue(snapshots > 0);
+    }
+
+    private static Thread startProducer(SpscArrayQueue<Item> queue) {
+        Thread producer = new Thread(() -> {
+            Item[] batch = new Item[64];
+            for (int i = 0; i < COUNT; ) {
+                int length = Math.min(batch.length, COUNT - i);
+                for (int j = 0; j < length; j++) {
+                    Item item = new Item();
+                    item.sequence = i + j;
+                    item.payload = (i + j) * 31;
+                    batch[j] = item;
+                }
+                int offered = 0;
+                while (offered < length) {
+                    int count = queue.offerAll(batch, offered, length - offered);
+                    if (count == 0) {
+                        Thread.yield();
+                    }
+                    offered += count;
+                }
+                i += length;
+            }
+        });
+        producer.start();
+        return producer;
+    }
+
+    private static class Item {
+        int sequence;
+        int payload;
+    }
+}
@@ -0,0 +1,141 @@
+package src.algo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+// Runs random operations on every general-purpose vector next to a java.util.ArrayList and compares
+// them after each step.
+class VectorTest {
+    private static final java.util.Map<String, Supplier<Vector<Integer>>> VECTORS = new java.util.LinkedHashMap<>();
+
+    static {
+        VECTORS.put("ArrayVector", () -> new ArrayVector<>(2));
+        VECTORS.put("ArrayList", () -> new ArrayList<>(2, new CapacityPolicy(1.5, 0.4, 2, 0.75)));
+        VECTORS.put("DoublyLinkedList", DoublyLinkedList::new);
+        VECTORS.put("SinglyLinkedList", SinglyLinkedList::new);
+        VECTORS.put("TieredVector", TieredVector::new);
+        VECTORS.put("UnrolledLinkedList", () -> new UnrolledLinkedList<>(4));
+        VECTORS.put("CopyOnWriteList", CopyOnWriteList::new);
+    }
+
+    @Test
+    void matchesArrayList() {
+        for (java.util.Map.Entry<String, Supplier<Vector<Integer>>> entry : VECTORS.entrySet()) {
+            Random random = new Random(entry.getKey().hashCode());
+            Vector<Integer> vector = entry.getValue().get();
+            java.util.List<Integer> expected = new java.util.ArrayList<>();
+            for (int step = 0; step < 20_000; step++) {
+                apply(random, vector, expected, entry.getKey() + " at step " + step);
+            }
+            assertContents(expected, vector, entry.getKey());
+        }
+    }
+
+    @Test
+    void emptyVectorsThrow() {
+        for (java.util.Map.Entry<String, Supplier<Vector<Integer>>> entry : VECTORS.entrySet()) {
+            Vector<Integer> vector = entry.getValue().get();
+            assertThrows(RuntimeException.class, vector::removeFirst, entry.getKey());
+            assertThrows(RuntimeException.class, vector::removeLast, entry.getKey());
+            assertThrows(IndexOutOfBoundsException.class, () -> vector.add(1, 0), entry.getKey());
+            assertThrows(IndexOutOfBoundsException.class, () -> vector.remove(0), entry.getKey());
+            assertEquals(0, vector.stream().count(), entry.getKey());
+        }
+    }
+
+    @Test
+    void sortIsStable() {
+        for (java.util.Map.Entry<String, Supplier<Vector<Integer>>> entry : VECTORS.entrySet()) {
+            Random random = new Random(9);
+            for (int size : new int[] {0, 1, 2, 3, 17, 100, 1000}) {
+                Vector<Integer> vector = entry.getValue().get();
+                java.util.List<Integer> expected = new java.util.ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    // the low bits tell equal keys apart
+                    int e = random.nextInt(10) << 16 | i;
+                    vector.addLast(e);
+                    expected.add(e);
+                }
+                Comparator<Integer> byKey = Comparator.comparingInt(e -> e >>> 16);
+                expected.sort(byKey);
+                Sort.sort(vector, byKey);
+                assertContents(expected, vector, entry.getKey() + " of size " + size);
+                // both ends still have to work after a sort
+                vector.addFirst(-1);
+                vector.addLast(Integer.MAX_VALUE);
+                assertEquals(-1, vector.removeFirst(), entry.getKey());
+                assertEquals(Integer.MAX_VALUE, vector.removeLast(), entry.getKey());
+            }
+        }
+    }
+
+    private static void apply(Random random, Vector<Integer> vector, java.util.List<Integer> expected, String message) {
+        int size = expected.size();
+        int e = random.nextInt();
+        // grows and shrinks in turns, so the sizes sweep past the capacity and node boundaries
+        boolean grow = (random.nextInt(1000) + size / 50) % 2 == 0 || size == 0;
+        switch (random.nextInt(4)) {
+            case 0:
+                if (grow) {
+                    int index = random.nextInt(size + 1);
+                    vector.add(index, e);
+                    expected.add(index, e);
+                } else {
+                    int index = random.nextInt(size);
+                    assertEquals(expected.remove(index), vector.remove(index), message);
+                }
+                break;
+            case 1:
+                if (grow) {
+                    vector.addFirst(e);
+                    expected.add(0, e);
+                } else {
+                    assertEquals(expected.remove(0), vector.removeFirst(), message);
+                }
+                break;
+            case 2:
+                if (grow) {
+                    vector.addLast(e);
+                    expected.add(e);
+                } else {
+                    assertEquals(expected.remove(size - 1), vector.removeLast(), message);
+                }
+                break;
+            default:
+                if (size == 0) {
+                    break;
+                }
+                int index = random.nextInt(size);
+                assertEquals(expected.get(index), vector.get(index), message);
+                vector.set(index, e);
+                expected.set(index, e);
+                break;
+        }
+        assertEquals(expected.size(), vector.size(), message);
+        if (random.nextInt(500) == 0) {
+            assertContents(expected, vector, message);
+        }
+    }
+
+    private static void assertContents(java.util.List<Integer> expected, Vector<Integer> vector, String message) {
+        assertEquals(expected.size(), vector.size(), message);
+        java.util.List<Integer> actual = new java.util.ArrayList<>();
+        for (Integer e : vector) {
+            actual.add(e);
+        }
+        assertEquals(expected, actual, message);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), vector.get(i), message);
+        }
+        assertEquals(expected, vector.stream().collect(Collectors.toList()), message);
+        // splits the spliterator down to single elements, which must still come back in order
+        assertEquals(expected, vector.parallelStream().collect(Collectors.toList()), message);
+    }
+}
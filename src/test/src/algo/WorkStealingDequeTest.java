@@ -0,0 +1,132 @@
+package src.algo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class WorkStealingDequeTest {
+    private static final int THIEVES = 3;
+
+    @Test
+    void ownerPopsNewestAndThievesStealOldest() {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(1);
+        assertNull(deque.pop());
+        assertNull(deque.steal());
+        assertThrows(IllegalArgumentException.class, () -> deque.push(null));
+        // grows from one slot while the live range wraps around
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 100; i++) {
+                deque.push(i);
+            }
+            assertEquals(100, deque.size());
+            assertTrue(deque.capacity() >= 100);
+            for (int i = 0; i < 50; i++) {
+                assertEquals(i, deque.steal());
+                assertEquals(99 - i, deque.pop());
+            }
+            assertTrue(deque.isEmpty());
+            assertNull(deque.pop());
+            assertNull(deque.steal());
+        }
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void everyElementIsTakenOnce() throws InterruptedException {
+        int count = 300_000;
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(2);
+        AtomicIntegerArray taken = new AtomicIntegerArray(count);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] thieves = new Thread[THIEVES];
+        for (int t = 0; t < THIEVES; t++) {
+            thieves[t] = new Thread(() -> {
+                try {
+                    int last = -1;
+                    while (!done.get() || !deque.isEmpty()) {
+                        Integer e = deque.steal();
+                        if (e == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        // steals come from the top, which only moves forwards
+                        assertTrue(e > last);
+                        last = e;
+                        assertEquals(1, taken.incrementAndGet(e));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            thieves[t].start();
+        }
+        // small bursts keep the deque near empty, where pop() and steal() race for the last element
+        for (int i = 0; i < count; ) {
+            int burst = Math.min(1 + i % 7, count - i);
+            for (int j = 0; j < burst; j++) {
+                deque.push(i + j);
+            }
+            i += burst;
+            for (int j = i % 3; j > 0; j--) {
+                Integer e = deque.pop();
+                if (e != null) {
+                    assertEquals(1, taken.incrementAndGet(e));
+                }
+            }
+        }
+        done.set(true);
+        Integer e;
+        while ((e = deque.pop()) != null) {
+            assertEquals(1, taken.incrementAndGet(e));
+        }
+        for (Thread thief : thieves) {
+            thief.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(1, taken.get(i), "element " + i);
+        }
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void stealOnlyGivesUpWhenEmpty() throws InterruptedException {
+        // a thief that loses a CAS to another one must retry, so thieves that stop at the first null
+        // still empty the deque between them
+        for (int round = 0; round < 50; round++) {
+            WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+            int count = 2000;
+            for (int i = 0; i < count; i++) {
+                deque.push(i);
+            }
+            AtomicInteger stolen = new AtomicInteger();
+            Thread[] thieves = new Thread[THIEVES];
+            for (int t = 0; t < THIEVES; t++) {
+                thieves[t] = new Thread(() -> {
+                    while (deque.steal() != null) {
+                        stolen.incrementAndGet();
+                    }
+                });
+            }
+            for (Thread thief : thieves) {
+                thief.start();
+            }
+            for (Thread thief : thieves) {
+                thief.join();
+            }
+            assertEquals(count, stolen.get());
+            assertTrue(deque.isEmpty());
+        }
+    }
+}